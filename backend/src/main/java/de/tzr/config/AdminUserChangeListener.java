@@ -0,0 +1,52 @@
+package de.tzr.config;
+
+import de.tzr.dto.AdminUserDTO;
+import de.tzr.model.AdminUser;
+import de.tzr.service.AdminPrincipalCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link AdminUser} that keeps {@link AdminPrincipalCache} current. Hibernate
+ * obtains it from the Spring context while the entity manager factory is still being built, so
+ * the cache, which needs the repository, is looked up lazily. Changes reach the cache only once
+ * their transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminUserChangeListener {
+
+    private final ObjectProvider<AdminPrincipalCache> adminPrincipalCache;
+
+    @PostPersist
+    @PostUpdate
+    void onSave(AdminUser user) {
+        AdminUserDTO snapshot = AdminPrincipalCache.toDto(user);
+        afterCommit(() -> adminPrincipalCache.getObject().put(snapshot));
+    }
+
+    @PostRemove
+    void onRemove(AdminUser user) {
+        String username = user.getUsername();
+        afterCommit(() -> adminPrincipalCache.getObject().removed(username));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
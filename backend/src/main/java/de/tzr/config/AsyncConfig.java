@@ -1,9 +1,94 @@
 package de.tzr.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    /**
+     * Default executor for {@code @Async} methods. Declared explicitly because Boot's own
+     * executor backs off as soon as any other executor bean exists.
+     */
+    @Bean(name = "taskExecutor")
+    public ThreadPoolTaskExecutor taskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setThreadNamePrefix("task-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs chunks of long translations in parallel. Bounded by the Claude chunk concurrency;
+     * when the queue is full the submitting thread translates the chunk itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor translationChunkExecutor(TranslationProperties props) {
+        int concurrency = props.getClaude().getChunkConcurrency();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("translate-chunk-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /** Fast translation lane: list-visible fields, committed as soon as they are translated. */
+    @Bean
+    public ThreadPoolTaskExecutor translationFastExecutor(TranslationProperties props) {
+        return laneExecutor(props.getLanes().getFastConcurrency(), "translate-fast-");
+    }
+
+    /** Bulk translation lane: bodies and bios, with its own concurrency budget. */
+    @Bean
+    public ThreadPoolTaskExecutor translationBulkExecutor(TranslationProperties props) {
+        return laneExecutor(props.getLanes().getBulkConcurrency(), "translate-bulk-");
+    }
+
+    /** Delivers queued emails, so SMTP round trips never run on request threads. */
+    @Bean
+    public ThreadPoolTaskExecutor emailExecutor(@Value("${newsletter.outbox.workers:2}") int workers) {
+        return laneExecutor(workers, "email-");
+    }
+
+    /** Runs newsletter campaigns; one send at a time. */
+    @Bean
+    public ThreadPoolTaskExecutor campaignExecutor() {
+        return laneExecutor(1, "newsletter-campaign-");
+    }
+
+    /**
+     * Verifies BCrypt passwords off the request threads. The queue is short and a full one
+     * rejects immediately, so a login burst cannot tie up Tomcat workers behind CPU-bound hashes.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${auth.password-hash.workers:2}") int workers,
+                                                       @Value("${auth.password-hash.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor laneExecutor(int concurrency, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,25 @@
+package de.tzr.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TRANSLATION_COMPLETENESS = "translationCompleteness";
+    public static final String SUBSCRIBER_COUNT = "subscriberCount";
+
+    /**
+     * In-memory caches. Evictions inside a transaction are deferred until it commits, so a
+     * concurrent reader cannot re-cache the state being replaced.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        return new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager(TRANSLATION_COMPLETENESS, SUBSCRIBER_COUNT));
+    }
+}
@@ -1,5 +1,7 @@
 package de.tzr.config;
 
+import de.tzr.service.AdminPrincipalCache;
+import de.tzr.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +21,8 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final AdminPrincipalCache adminPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -27,12 +31,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                    username, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            jwtUtil.parseClaims(token, JwtUtil.TYPE_ACCESS)
+                .filter(claims -> !tokenRevocationService.isRevoked(claims.getId()))
+                .flatMap(adminPrincipalCache::resolve)
+                .ifPresent(user -> {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        user.username(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.role())));
+                    auth.setDetails(user);
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                });
         }
 
         filterChain.doFilter(request, response);
@@ -41,6 +48,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return !path.startsWith("/api/admin") && !path.startsWith("/api/auth/me");
+        return !path.startsWith("/api/admin") && !path.startsWith("/api/auth/me")
+            && !path.startsWith("/actuator");
     }
 }
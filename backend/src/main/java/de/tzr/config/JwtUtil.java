@@ -1,6 +1,9 @@
 package de.tzr.config;
 
+import de.tzr.model.AdminUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -12,10 +15,22 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_DISPLAY_NAME = "name";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -25,14 +40,26 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration-ms}")
     private long refreshExpirationMs;
 
+    @Value("${jwt.claims-cache-size:1000}")
+    private int claimsCacheSize;
+
     private final Environment environment;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Claims of recently verified tokens, keyed by the exact token string, so repeat requests
+     * with the same token skip signature verification until it expires.
+     */
+    private final Map<String, Claims> verified = new ConcurrentHashMap<>();
+
     public JwtUtil(Environment environment) {
         this.environment = environment;
     }
 
     @PostConstruct
-    void validateSecret() {
+    void init() {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         boolean isDev = Arrays.asList(environment.getActiveProfiles()).contains("dev")
                 || environment.getActiveProfiles().length == 0;
@@ -40,10 +67,11 @@ public class JwtUtil {
             throw new IllegalStateException(
                     "JWT secret must be at least 32 bytes in non-dev profiles. Current length: " + keyBytes.length);
         }
+        signingKey = buildSigningKey(keyBytes);
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+    private static SecretKey buildSigningKey(byte[] keyBytes) {
         if (keyBytes.length < 32) {
             // Dev-only fallback: zero-pad short secrets
             byte[] padded = new byte[32];
@@ -53,40 +81,71 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateToken(String username) {
-        return Jwts.builder()
-            .subject(username)
-            .issuedAt(new Date())
-            .expiration(new Date(System.currentTimeMillis() + expirationMs))
-            .signWith(getSigningKey())
-            .compact();
+    /** Access tokens carry the user's id, role and display name so requests need no user lookup. */
+    public String generateToken(AdminUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        if (user.getDisplayName() != null) claims.put(CLAIM_DISPLAY_NAME, user.getDisplayName());
+        claims.put(CLAIM_TYPE, TYPE_ACCESS);
+        return generate(user.getUsername(), expirationMs, claims);
     }
 
     public String generateRefreshToken(String username) {
+        return generate(username, refreshExpirationMs, Map.of(CLAIM_TYPE, TYPE_REFRESH));
+    }
+
+    /** Every token carries a unique id ({@code jti}) so it can be revoked on its own. */
+    private String generate(String username, long ttlMs, Map<String, Object> claims) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+            .id(UUID.randomUUID().toString())
             .subject(username)
-            .issuedAt(new Date())
-            .expiration(new Date(System.currentTimeMillis() + refreshExpirationMs))
-            .signWith(getSigningKey())
+            .claims(claims)
+            .issuedAt(new Date(now))
+            .expiration(new Date(now + ttlMs))
+            .signWith(signingKey)
             .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-        return claims.getSubject();
+    /** Verifies the token once and returns its claims, or empty if it is invalid or expired. */
+    public Optional<Claims> parseClaims(String token) {
+        Claims cached = verified.get(token);
+        if (cached != null) {
+            if (!isExpired(cached, System.currentTimeMillis())) return Optional.of(cached);
+            verified.remove(token);
+            return Optional.empty();
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            remember(token, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Like {@link #parseClaims}, but only for a token of the given {@code typ}, so a refresh token
+     * is never accepted as a bearer token and vice versa. Tokens without a type are rejected.
+     */
+    public Optional<Claims> parseClaims(String token, String type) {
+        return parseClaims(token).filter(claims -> type.equals(claims.get(CLAIM_TYPE, String.class)));
+    }
+
+    private void remember(String token, Claims claims) {
+        if (verified.size() >= claimsCacheSize) {
+            long now = System.currentTimeMillis();
+            verified.values().removeIf(c -> isExpired(c, now));
+            // still full of live tokens: start over rather than track recency on every hit
+            if (verified.size() >= claimsCacheSize) verified.clear();
         }
+        verified.put(token, claims);
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= now;
     }
 
     public long getExpirationMs() {
@@ -0,0 +1,20 @@
+package de.tzr.config;
+
+import de.tzr.service.ProviderGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProviderGuardConfig {
+
+    @Bean
+    public ProviderGuard deepLGuard(TranslationProperties props, MeterRegistry meterRegistry) {
+        return new ProviderGuard("deepl", props.getDeepl().getLimits(), meterRegistry);
+    }
+
+    @Bean
+    public ProviderGuard claudeGuard(TranslationProperties props, MeterRegistry meterRegistry) {
+        return new ProviderGuard("claude", props.getClaude().getLimits(), meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package de.tzr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every outbound call to a translation provider as
+ * {@code translation.provider.requests}, tagged by provider and HTTP status.
+ */
+public class ProviderTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String provider;
+    private final MeterRegistry meterRegistry;
+
+    public ProviderTimingInterceptor(String provider, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            Timer.builder("translation.provider.requests")
+                .description("Latency of outbound translation provider calls")
+                .tag("provider", provider)
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package de.tzr.config;
+
+import de.tzr.service.SlidingWindowRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Per-client limits on expensive public endpoints (newsletter signup sends mail, login runs
+ * BCrypt). Clients are identified by IP; {@code X-Forwarded-For} is only honoured when the
+ * request comes from a trusted proxy, and then read right to left up to the first address
+ * that is not itself a trusted proxy. Runs ahead of Spring Security so rejected requests
+ * cost next to nothing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+    private static final String REJECTION_BODY =
+        "{\"error\":\"Zu viele Anfragen. Bitte versuchen Sie es später erneut.\",\"status\":429}";
+
+    private record Limit(String name, String method, PathPattern path, SlidingWindowRateLimiter limiter) {}
+
+    private final boolean enabled;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final List<Limit> limits;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties props, MeterRegistry meterRegistry) {
+        this.enabled = props.isEnabled();
+        this.meterRegistry = meterRegistry;
+        this.trustedProxies = props.getTrustedProxies().stream().map(IpAddressMatcher::new).toList();
+        this.limits = props.getRules().entrySet().stream()
+            .map(e -> new Limit(e.getKey(), e.getValue().getMethod(),
+                PathPatternParser.defaultInstance.parse(e.getValue().getPath()),
+                new SlidingWindowRateLimiter(e.getValue().getLimit(), e.getValue().getWindow(), props.getMaxClients())))
+            .toList();
+        for (Limit limit : limits) {
+            meterRegistry.gauge("http.ratelimit.clients", Tags.of("rule", limit.name()),
+                limit.limiter(), SlidingWindowRateLimiter::size);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Limit limit = match(request);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = clientIp(request);
+        SlidingWindowRateLimiter.Decision decision = limit.limiter().tryAcquire(client);
+        meterRegistry.counter("http.ratelimit.requests", "rule", limit.name(),
+            "outcome", decision.allowed() ? "allowed" : "rejected").increment();
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Rate limit '{}' exceeded by {}, retry after {}s", limit.name(), client, decision.retryAfterSeconds());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(REJECTION_BODY);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || limits.isEmpty();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:PT5M}")
+    public void evictIdleClients() {
+        limits.forEach(limit -> limit.limiter().evictIdle());
+    }
+
+    private Limit match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (Limit limit : limits) {
+            if (!limit.method().equalsIgnoreCase(request.getMethod())) continue;
+            if (path == null) path = PathContainer.parsePath(request.getRequestURI());
+            if (limit.path().matches(path)) return limit;
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!isTrusted(client)) return client;
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null) return client;
+
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isIpLiteral(hop)) break;
+            client = hop;
+            if (!isTrusted(hop)) break;
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (!isIpLiteral(address)) return false;
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) return true;
+        }
+        return false;
+    }
+
+    /** Only literal addresses are matched, so a forged header can never trigger a DNS lookup. */
+    private static boolean isIpLiteral(String value) {
+        return IPV4.matcher(value).matches() || IPV6.matcher(value).matches();
+    }
+}
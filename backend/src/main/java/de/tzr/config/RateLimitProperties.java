@@ -0,0 +1,38 @@
+package de.tzr.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /**
+     * Peers whose {@code X-Forwarded-For} is believed: loopback for nginx on the host, and the
+     * private ranges Docker's port forwarding connects from. The compose files publish the app on
+     * 127.0.0.1 only, so these peers are always the host; publish it on a public interface and
+     * this list must shrink to the proxy's own address.
+     */
+    private List<String> trustedProxies = List.of(
+        "127.0.0.0/8", "::1/128", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16");
+    /** Upper bound on clients tracked at once; beyond it idle entries are dropped early. */
+    private int maxClients = 100_000;
+    /** Limits by rule name; each rule counts requests per client IP independently. */
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+        private String method = "POST";
+        private String path;
+        private int limit;
+        private Duration window = Duration.ofMinutes(1);
+    }
+}
@@ -1,14 +1,46 @@
 package de.tzr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate deepLRestTemplate(TranslationProperties props, MeterRegistry meterRegistry) {
+        TranslationProperties.DeepL deepl = props.getDeepl();
+        return providerRestTemplate("deepl", deepl.getConnectTimeout(), deepl.getReadTimeout(), meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate claudeRestTemplate(TranslationProperties props, MeterRegistry meterRegistry) {
+        TranslationProperties.Claude claude = props.getClaude();
+        return providerRestTemplate("claude", claude.getConnectTimeout(), claude.getReadTimeout(), meterRegistry);
+    }
+
+    /**
+     * One JDK HttpClient per provider. It keeps idle connections alive, negotiates HTTP/2 when the
+     * server offers it and resumes TLS sessions, so repeated calls skip the handshake.
+     */
+    private RestTemplate providerRestTemplate(String provider, Duration connectTimeout, Duration readTimeout,
+                                              MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new ProviderTimingInterceptor(provider, meterRegistry));
+        return restTemplate;
     }
 }
@@ -1,6 +1,8 @@
 package de.tzr.config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,11 +15,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
 
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
     private final JwtAuthFilter jwtAuthFilter;
 
     @Bean
@@ -31,6 +39,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/", "/index.html", "/assets/**", "/*.js", "/*.css", "/*.ico").permitAll()
                 .requestMatchers("/api/admin/**").authenticated()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
                 .anyRequest().permitAll()
             )
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -38,9 +48,33 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt at the highest cost whose hash still takes no more than {@code auth.bcrypt.target}
+     * on this machine, measured at startup and never below the default of 10. A fixed
+     * {@code auth.bcrypt.strength} skips the measurement.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:0}") int strength,
+                                           @Value("${auth.bcrypt.target:PT0.25S}") Duration target) {
+        if (strength <= 0) strength = calibrateStrength(target);
+        log.info("Using BCrypt strength {}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private static int calibrateStrength(Duration target) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long nanos = System.nanoTime() - start;
+
+        // each step doubles the work
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        return strength;
     }
 
     @Bean
@@ -1,23 +1,41 @@
 package de.tzr.config;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "translation")
 public class TranslationProperties {
 
     private boolean autoTranslate = true;
+    /** {@code stub} points both providers at an embedded fake server; see StubTranslationServer. */
+    private Mode mode = Mode.LIVE;
 
     private DeepL deepl = new DeepL();
     private Claude claude = new Claude();
+    private Routing routing = new Routing();
+    private Coalesce coalesce = new Coalesce();
+    private Lanes lanes = new Lanes();
+    private Stub stub = new Stub();
+
+    public enum Mode { LIVE, STUB }
 
     @Data
     public static class DeepL {
         private String apiKey = "";
         private String apiUrl = "https://api-free.deepl.com/v2/translate";
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private Duration quotaCooldown = Duration.ofHours(1);
+        private int maxChars = 100000;
+        private int htmlMaxChars = 20000;
+        private double costPerMillionChars = 20.0;
+        private Limits limits = new Limits(5, 10, Duration.ofSeconds(2));
     }
 
     @Data
@@ -25,6 +43,90 @@ public class TranslationProperties {
         private String apiKey = "";
         private String apiUrl = "https://api.anthropic.com/v1/messages";
         private String model = "claude-haiku-4-5-20251001";
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(120);
+        private int maxTokens = 8192;
+        private int chunkTokens = 2500;
+        private int chunkConcurrency = 4;
+        private String batchUrl = "https://api.anthropic.com/v1/messages/batches";
+        private Duration batchPollInterval = Duration.ofMinutes(1);
+        private int batchMaxRequests = 10000;
+        /** Rough per-character price, used to rank providers before a call. */
+        private double costPerMillionChars = 2.0;
+        /** Token prices, used to cost metered calls. */
+        private double costPerMillionInputTokens = 1.0;
+        private double costPerMillionOutputTokens = 5.0;
+        private Limits limits = new Limits(1, 5, Duration.ofSeconds(10));
+    }
+
+    @Data
+    public static class Routing {
+        /** Upper bound of the "short" size bucket in route metrics. */
+        private int shortMaxChars = 500;
+        /** Milliseconds of expected latency one unit of estimated price is worth. */
+        private double costWeight = 1000.0;
+    }
+
+    @Data
+    public static class Coalesce {
+        /** A trigger runs once no further trigger for the same entity arrived for this long. */
+        private Duration quietPeriod = Duration.ofSeconds(15);
+        /** Upper bound between the first pending trigger and the run, however often it is re-triggered. */
+        private Duration maxDelay = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Lanes {
+        /** Threads translating list-visible fields (titles, excerpts, meta, names). */
+        private int fastConcurrency = 4;
+        /** Threads translating bodies and bios. */
+        private int bulkConcurrency = 2;
+        /** Provider tried first for fast-lane fields. */
+        private String fastProvider = "deepl";
+    }
+
+    @Data
+    public static class Stub {
+        private StubProvider deepl = new StubProvider(Duration.ofMillis(150), Duration.ofMillis(600), Duration.ofMillis(5), 0.0);
+        private StubProvider claude = new StubProvider(Duration.ofMillis(1500), Duration.ofSeconds(6), Duration.ofMillis(300), 0.02);
+    }
+
+    /**
+     * Fake provider behaviour. Latency is log-normal with the given median and 99th percentile,
+     * plus a per-1000-characters term; the rates are per-request probabilities.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class StubProvider {
+        private Duration latencyMedian = Duration.ofMillis(200);
+        private Duration latencyP99 = Duration.ofSeconds(1);
+        private Duration latencyPerThousandChars = Duration.ZERO;
+        private double errorRate = 0.01;
+        private double throttleRate = 0.01;
+        private double truncationRate = 0.0;
+
+        public StubProvider(Duration latencyMedian, Duration latencyP99, Duration latencyPerThousandChars, double truncationRate) {
+            this.latencyMedian = latencyMedian;
+            this.latencyP99 = latencyP99;
+            this.latencyPerThousandChars = latencyPerThousandChars;
+            this.truncationRate = truncationRate;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Limits {
+        private double requestsPerSecond = 1;
+        private int burst = 5;
+        private Duration maxWait = Duration.ofSeconds(2);
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        public Limits(double requestsPerSecond, int burst, Duration maxWait) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            this.maxWait = maxWait;
+        }
     }
 
     public boolean isDeepLConfigured() {
@@ -0,0 +1,25 @@
+package de.tzr.controller;
+
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import de.tzr.service.ManualTranslationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/translations/manual")
+@RequiredArgsConstructor
+public class AdminManualTranslationController {
+
+    private final ManualTranslationService manualTranslationService;
+
+    /** Drops the manual flag so the translation is regenerated from the current source. */
+    @DeleteMapping("/{entityType}/{entityId}/{language}")
+    public ResponseEntity<Void> release(@PathVariable String entityType, @PathVariable Long entityId,
+                                        @PathVariable String language) {
+        manualTranslationService.release(TranslationTaskEntityType.valueOf(entityType.toUpperCase()), entityId,
+            Language.valueOf(language.toUpperCase()));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,33 @@
+package de.tzr.controller;
+
+import de.tzr.dto.NewsletterCampaignDTO;
+import de.tzr.service.NewsletterCampaignService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/newsletter/campaigns")
+@RequiredArgsConstructor
+public class AdminNewsletterCampaignController {
+
+    private final NewsletterCampaignService campaignService;
+
+    @GetMapping
+    public List<NewsletterCampaignDTO> getCampaigns() {
+        return campaignService.getCampaigns();
+    }
+
+    @PostMapping
+    public ResponseEntity<NewsletterCampaignDTO> start() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.start());
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<NewsletterCampaignDTO> resume(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.resume(id));
+    }
+}
@@ -0,0 +1,36 @@
+package de.tzr.controller;
+
+import de.tzr.dto.SubscriberImportResultDTO;
+import de.tzr.service.SubscriberCsvService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/newsletter/subscribers")
+@RequiredArgsConstructor
+public class AdminNewsletterSubscriberController {
+
+    private final SubscriberCsvService subscriberCsvService;
+
+    /** Takes the CSV file as the raw request body, e.g. {@code curl --data-binary @list.csv}. */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public SubscriberImportResultDTO importCsv(InputStream body) throws IOException {
+        return subscriberCsvService.importCsv(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        return ResponseEntity.ok()
+            .contentType(new MediaType("text", "csv", java.nio.charset.StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"subscribers-" + LocalDate.now() + ".csv\"")
+            .body(subscriberCsvService::exportCsv);
+    }
+}
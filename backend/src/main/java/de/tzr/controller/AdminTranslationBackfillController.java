@@ -0,0 +1,28 @@
+package de.tzr.controller;
+
+import de.tzr.dto.TranslationBatchDTO;
+import de.tzr.service.TranslationBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/translations/backfill")
+@RequiredArgsConstructor
+public class AdminTranslationBackfillController {
+
+    private final TranslationBackfillService backfillService;
+
+    @GetMapping
+    public List<TranslationBatchDTO> getBatches() {
+        return backfillService.getBatches();
+    }
+
+    @PostMapping
+    public ResponseEntity<List<TranslationBatchDTO>> start(@RequestParam(defaultValue = "false") boolean requeueAll) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.start(requeueAll));
+    }
+}
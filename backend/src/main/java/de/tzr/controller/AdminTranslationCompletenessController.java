@@ -0,0 +1,21 @@
+package de.tzr.controller;
+
+import de.tzr.dto.TranslationCompletenessDTO;
+import de.tzr.service.TranslationCompletenessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/translations/completeness")
+@RequiredArgsConstructor
+public class AdminTranslationCompletenessController {
+
+    private final TranslationCompletenessService translationCompletenessService;
+
+    @GetMapping
+    public List<TranslationCompletenessDTO> getMatrix() {
+        return translationCompletenessService.getMatrix();
+    }
+}
@@ -1,26 +1,44 @@
 package de.tzr.controller;
 
+import de.tzr.dto.PageResponse;
 import de.tzr.dto.TranslationTaskDTO;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import de.tzr.model.TranslationTaskStatus;
 import de.tzr.service.TranslationTaskService;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin/translations/tasks")
 @RequiredArgsConstructor
 public class AdminTranslationTaskController {
 
+    private static final Set<String> SORTABLE = Set.of("createdAt", "updatedAt", "status", "entityType", "targetLang");
+
     private final TranslationTaskService translationTaskService;
 
     @GetMapping
-    public List<TranslationTaskDTO> getAll(@RequestParam(required = false) String status) {
-        if ("PENDING".equalsIgnoreCase(status)) {
-            return translationTaskService.getPendingTasks();
-        }
-        return translationTaskService.getAllTasks();
+    public PageResponse<TranslationTaskDTO> getAll(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "25") @Min(1) int size,
+            @RequestParam(required = false) TranslationTaskStatus status,
+            @RequestParam(required = false) TranslationTaskEntityType entityType,
+            @RequestParam(required = false) Language targetLang,
+            @RequestParam(defaultValue = "createdAt,desc") String sort) {
+        String[] parts = sort.split(",");
+        String property = SORTABLE.contains(parts[0]) ? parts[0] : "createdAt";
+        Sort.Direction dir = parts.length > 1 && parts[1].equalsIgnoreCase("asc")
+            ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by(dir, property).and(Sort.by("id")));
+        return translationTaskService.getTasks(status, entityType, targetLang, pageable);
     }
 
     @GetMapping("/stats")
@@ -0,0 +1,23 @@
+package de.tzr.controller;
+
+import de.tzr.dto.TranslationUsageDTO;
+import de.tzr.service.TranslationUsageMeter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/translations/usage")
+@RequiredArgsConstructor
+public class AdminTranslationUsageController {
+
+    private final TranslationUsageMeter usageMeter;
+
+    @GetMapping
+    public List<TranslationUsageDTO> getUsage(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "day") String granularity) {
+        return usageMeter.getUsage(Math.min(days, 90), "hour".equalsIgnoreCase(granularity));
+    }
+}
@@ -6,6 +6,8 @@ import de.tzr.dto.LoginResponse;
 import de.tzr.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,9 +30,16 @@ public class AuthController {
         return authService.refresh(body.get("refreshToken"));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody Map<String, String> body) {
+        authService.logout(body.get("token"), body.get("refreshToken"));
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public AdminUserDTO me() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return authService.getCurrentUser(username);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getDetails() instanceof AdminUserDTO user) return user;
+        return authService.getCurrentUser(authentication.getName());
     }
 }
@@ -3,6 +3,7 @@ package de.tzr.controller;
 import de.tzr.model.ArticleStatus;
 import de.tzr.model.TranslationTaskStatus;
 import de.tzr.repository.*;
+import de.tzr.service.NewsletterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,7 +20,7 @@ public class DashboardController {
     private final ArticleRepository articleRepository;
     private final CategoryRepository categoryRepository;
     private final AuthorRepository authorRepository;
-    private final NewsletterSubscriberRepository subscriberRepository;
+    private final NewsletterService newsletterService;
     private final TranslationTaskRepository translationTaskRepository;
 
     @GetMapping("/stats")
@@ -31,7 +32,7 @@ public class DashboardController {
         stats.put("archivedArticles", articleRepository.countByStatus(ArticleStatus.ARCHIVED));
         stats.put("categories", categoryRepository.count());
         stats.put("authors", authorRepository.count());
-        stats.put("subscribers", subscriberRepository.count());
+        stats.put("subscribers", newsletterService.getCount());
         stats.put("pendingTranslations", translationTaskRepository.countByStatus(TranslationTaskStatus.PENDING));
         return stats;
     }
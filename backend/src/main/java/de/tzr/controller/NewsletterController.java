@@ -1,6 +1,8 @@
 package de.tzr.controller;
 
+import de.tzr.config.LanguageResolver;
 import de.tzr.service.NewsletterService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -16,17 +18,19 @@ import java.util.Map;
 public class NewsletterController {
 
     private final NewsletterService newsletterService;
+    private final LanguageResolver languageResolver;
 
     @Value("${newsletter.base-url}")
     private String baseUrl;
 
     @PostMapping
-    public ResponseEntity<Map<String, String>> subscribe(@RequestBody Map<String, String> body) {
+    public ResponseEntity<Map<String, String>> subscribe(@RequestBody Map<String, String> body,
+                                                         HttpServletRequest request) {
         String email = body.get("email");
         if (email == null || email.isBlank()) {
             return ResponseEntity.badRequest().body(Map.of("message", "E-Mail-Adresse ist erforderlich."));
         }
-        String message = newsletterService.subscribe(email);
+        String message = newsletterService.subscribe(email, languageResolver.resolve(body.get("language"), request));
         return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("message", message));
     }
 
@@ -43,4 +47,29 @@ public class NewsletterController {
                     .build();
         }
     }
+
+    @GetMapping("/unsubscribe")
+    public ResponseEntity<Void> unsubscribe(@RequestParam Long id, @RequestParam String token) {
+        try {
+            newsletterService.unsubscribe(id, token);
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(baseUrl + "/?unsubscribed=true"))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(baseUrl + "/?unsubscribed=error"))
+                    .build();
+        }
+    }
+
+    /** One-click unsubscribe (RFC 8058), posted by mail clients from the List-Unsubscribe header. */
+    @PostMapping("/unsubscribe")
+    public ResponseEntity<Void> unsubscribeOneClick(@RequestParam Long id, @RequestParam String token) {
+        try {
+            newsletterService.unsubscribe(id, token);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package de.tzr.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record NewsletterCampaignDTO(
+    Long id, String status, LocalDate periodStart, LocalDate periodEnd,
+    int sentCount, int failedCount, LocalDateTime createdAt, LocalDateTime completedAt
+) {}
@@ -0,0 +1,7 @@
+package de.tzr.dto;
+
+import java.util.List;
+
+public record SubscriberImportResultDTO(
+    int total, int imported, int duplicates, int invalid, List<String> errors
+) {}
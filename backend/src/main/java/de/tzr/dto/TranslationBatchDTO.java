@@ -0,0 +1,9 @@
+package de.tzr.dto;
+
+import java.time.LocalDateTime;
+
+public record TranslationBatchDTO(
+    Long id, String providerBatchId, String status,
+    Integer requestCount, Integer succeededCount, Integer failedCount,
+    LocalDateTime createdAt, LocalDateTime completedAt
+) {}
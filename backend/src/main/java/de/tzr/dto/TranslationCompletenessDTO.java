@@ -0,0 +1,8 @@
+package de.tzr.dto;
+
+import java.util.List;
+
+public record TranslationCompletenessDTO(
+    String entityType, String language,
+    long total, long translated, List<Long> missingIds
+) {}
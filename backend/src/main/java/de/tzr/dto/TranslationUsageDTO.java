@@ -0,0 +1,11 @@
+package de.tzr.dto;
+
+import java.time.LocalDateTime;
+
+public record TranslationUsageDTO(
+    LocalDateTime bucketStart, String provider, String entityType, String language,
+    long requests, long failures, long fallbacks, long retries,
+    long charsSent, long charsReceived, long billedChars,
+    long inputTokens, long outputTokens,
+    long avgLatencyMs, double estimatedCost
+) {}
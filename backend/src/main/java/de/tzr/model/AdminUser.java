@@ -1,5 +1,6 @@
 package de.tzr.model;
 
+import de.tzr.config.AdminUserChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "admin_users")
+@EntityListeners(AdminUserChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -75,6 +75,9 @@ public class Article {
     private String metaTitle;
     private String metaDescription;
 
+    @Column(length = 500)
+    private FieldFingerprints fingerprints;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -10,7 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ArticleTranslation {
+public class ArticleTranslation implements DerivedTranslation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,4 +38,10 @@ public class ArticleTranslation {
     @Column(length = 500)
     private String metaDescription;
     private Integer readingTimeMinutes;
+
+    @Column(length = 500)
+    private FieldFingerprints sourceFingerprints;
+
+    @Builder.Default
+    private Boolean manual = false;
 }
@@ -46,6 +46,9 @@ public class Author {
     @Builder.Default
     private List<Article> articles = new ArrayList<>();
 
+    @Column(length = 500)
+    private FieldFingerprints fingerprints;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
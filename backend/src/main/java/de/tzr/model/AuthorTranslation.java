@@ -10,7 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class AuthorTranslation {
+public class AuthorTranslation implements DerivedTranslation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,4 +26,10 @@ public class AuthorTranslation {
 
     @Column(columnDefinition = "TEXT")
     private String bio;
+
+    @Column(length = 500)
+    private FieldFingerprints sourceFingerprints;
+
+    @Builder.Default
+    private Boolean manual = false;
 }
@@ -57,6 +57,9 @@ public class Category {
     @Builder.Default
     private List<Article> articles = new ArrayList<>();
 
+    @Column(length = 500)
+    private FieldFingerprints fingerprints;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
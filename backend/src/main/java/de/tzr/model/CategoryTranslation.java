@@ -10,7 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class CategoryTranslation {
+public class CategoryTranslation implements DerivedTranslation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,4 +31,10 @@ public class CategoryTranslation {
 
     @Column(columnDefinition = "TEXT")
     private String description;
+
+    @Column(length = 500)
+    private FieldFingerprints sourceFingerprints;
+
+    @Builder.Default
+    private Boolean manual = false;
 }
@@ -0,0 +1,24 @@
+package de.tzr.model;
+
+/**
+ * A translation row that records which source version each field was translated from.
+ * Manual translations are edited by hand and never overwritten by automatic translation.
+ */
+public interface DerivedTranslation {
+
+    FieldFingerprints getSourceFingerprints();
+
+    void setSourceFingerprints(FieldFingerprints sourceFingerprints);
+
+    Boolean getManual();
+
+    void setManual(Boolean manual);
+
+    default boolean isManualTranslation() {
+        return Boolean.TRUE.equals(getManual());
+    }
+
+    default FieldFingerprints sourceFingerprints() {
+        return getSourceFingerprints() != null ? getSourceFingerprints() : FieldFingerprints.EMPTY;
+    }
+}
@@ -0,0 +1,5 @@
+package de.tzr.model;
+
+public enum EmailOutboxStatus {
+    PENDING, SENT, FAILED
+}
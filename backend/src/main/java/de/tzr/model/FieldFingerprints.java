@@ -0,0 +1,133 @@
+package de.tzr.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable content hashes of translatable fields, keyed by field name. Blank fields have no
+ * hash. Stored in a single column as {@code field=hash;field=hash}.
+ */
+public final class FieldFingerprints {
+
+    public static final FieldFingerprints EMPTY = new FieldFingerprints(Map.of());
+
+    /** Never produced by {@link #hash}, so it differs from every source hash. */
+    private static final String OUTDATED = "-";
+
+    private final Map<String, String> hashes;
+
+    private FieldFingerprints(Map<String, String> hashes) {
+        this.hashes = Map.copyOf(hashes);
+    }
+
+    public static FieldFingerprints of(Map<String, String> fields) {
+        Map<String, String> hashes = new TreeMap<>();
+        fields.forEach((field, text) -> {
+            String hash = hash(text);
+            if (hash != null) hashes.put(field, hash);
+        });
+        return new FieldFingerprints(hashes);
+    }
+
+    /** Hex SHA-256 of the text, truncated to 128 bits; null for blank text. */
+    public static String hash(String text) {
+        if (text == null || text.isBlank()) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String get(String field) {
+        return hashes.get(field);
+    }
+
+    /** Fields with a non-blank value. */
+    public Set<String> fields() {
+        return new TreeMap<>(hashes).keySet();
+    }
+
+    public boolean has(String field) {
+        return hashes.containsKey(field);
+    }
+
+    /** Fields whose hash differs between this and the other fingerprints. */
+    public Set<String> changedFields(FieldFingerprints other) {
+        Set<String> changed = new HashSet<>();
+        for (String field : union(hashes.keySet(), other.hashes.keySet())) {
+            if (!Objects.equals(get(field), other.get(field))) changed.add(field);
+        }
+        return changed;
+    }
+
+    /** Copy with the given fields set to their hash in {@code source}; fields blank in the source are removed. */
+    public FieldFingerprints with(Collection<String> fields, FieldFingerprints source) {
+        Map<String, String> copy = new TreeMap<>(hashes);
+        for (String field : fields) {
+            String hash = source.get(field);
+            if (hash != null) copy.put(field, hash);
+            else copy.remove(field);
+        }
+        return new FieldFingerprints(copy);
+    }
+
+    /**
+     * Copy in which the given fields match no source text, so each of them counts as outdated
+     * and is translated again.
+     */
+    public FieldFingerprints outdated(Collection<String> fields) {
+        Map<String, String> copy = new TreeMap<>(hashes);
+        for (String field : fields) copy.put(field, OUTDATED);
+        return new FieldFingerprints(copy);
+    }
+
+    public String serialize() {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(hashes).forEach((field, hash) -> {
+            if (!sb.isEmpty()) sb.append(';');
+            sb.append(field).append('=').append(hash);
+        });
+        return sb.toString();
+    }
+
+    public static FieldFingerprints parse(String value) {
+        if (value == null || value.isBlank()) return EMPTY;
+        Map<String, String> hashes = new TreeMap<>();
+        for (String entry : value.split(";")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) hashes.put(entry.substring(0, eq), entry.substring(eq + 1));
+        }
+        return new FieldFingerprints(hashes);
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> all = new HashSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FieldFingerprints other && hashes.equals(other.hashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return serialize();
+    }
+}
@@ -0,0 +1,18 @@
+package de.tzr.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class FieldFingerprintsConverter implements AttributeConverter<FieldFingerprints, String> {
+
+    @Override
+    public String convertToDatabaseColumn(FieldFingerprints fingerprints) {
+        return fingerprints == null ? null : fingerprints.serialize();
+    }
+
+    @Override
+    public FieldFingerprints convertToEntityAttribute(String value) {
+        return value == null ? null : FieldFingerprints.parse(value);
+    }
+}
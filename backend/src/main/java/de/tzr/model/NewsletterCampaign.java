@@ -0,0 +1,55 @@
+package de.tzr.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One newsletter send: a digest of the articles published after {@code periodStart} up to and
+ * including {@code periodEnd}. Subscribers are processed in id order and
+ * {@code lastSubscriberId} records how far the send got, so an interrupted campaign resumes
+ * where it stopped.
+ */
+@Entity
+@Table(name = "newsletter_campaigns",
+    uniqueConstraints = @UniqueConstraint(columnNames = "period_end"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NewsletterCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private NewsletterCampaignStatus status = NewsletterCampaignStatus.SENDING;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private LocalDate periodEnd;
+
+    @Builder.Default
+    private Long lastSubscriberId = 0L;
+
+    @Builder.Default
+    private int sentCount = 0;
+
+    @Builder.Default
+    private int failedCount = 0;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,5 @@
+package de.tzr.model;
+
+public enum NewsletterCampaignStatus {
+    SENDING, COMPLETED
+}
@@ -0,0 +1,42 @@
+package de.tzr.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "newsletter_deliveries",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"campaign_id", "subscriber_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NewsletterDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private Long subscriberId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Language language;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NewsletterDeliveryStatus status;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime attemptedAt;
+}
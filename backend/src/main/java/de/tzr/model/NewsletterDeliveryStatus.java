@@ -0,0 +1,5 @@
+package de.tzr.model;
+
+public enum NewsletterDeliveryStatus {
+    SENT, FAILED
+}
@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "newsletter_subscribers")
+@Table(name = "newsletter_subscribers",
+    indexes = @Index(name = "idx_newsletter_subscribers_confirmed_expires", columnList = "confirmed, token_expires_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +31,11 @@ public class NewsletterSubscriber {
 
     private LocalDateTime tokenExpiresAt;
 
+    /** Language the newsletter is sent in; null for subscribers from before it was recorded. */
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Language language = Language.DEFAULT;
+
     @PrePersist
     protected void onCreate() {
         subscribedAt = LocalDateTime.now();
@@ -10,7 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TagTranslation {
+public class TagTranslation implements DerivedTranslation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,4 +26,10 @@ public class TagTranslation {
 
     @Column(nullable = false)
     private String name;
+
+    @Column(length = 500)
+    private FieldFingerprints sourceFingerprints;
+
+    @Builder.Default
+    private Boolean manual = false;
 }
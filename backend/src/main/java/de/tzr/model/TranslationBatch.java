@@ -0,0 +1,50 @@
+package de.tzr.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "translation_batches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TranslationBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String providerBatchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private TranslationBatchStatus status = TranslationBatchStatus.IN_PROGRESS;
+
+    private Integer requestCount;
+
+    @Builder.Default
+    private Integer succeededCount = 0;
+
+    @Builder.Default
+    private Integer failedCount = 0;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
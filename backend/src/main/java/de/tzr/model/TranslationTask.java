@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "translation_tasks")
+@Table(name = "translation_tasks",
+    indexes = @Index(name = "idx_translation_tasks_entity_lang_status", columnList = "entity_type, entity_id, target_lang, status"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
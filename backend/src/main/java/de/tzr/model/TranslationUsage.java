@@ -0,0 +1,58 @@
+package de.tzr.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly provider usage per entity type and target language, accumulated from routed
+ * translation calls.
+ */
+@Entity
+@Table(name = "translation_usage",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"bucket_start", "provider", "entity_type", "language"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TranslationUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private String provider;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Language language;
+
+    @Builder.Default
+    private long requests = 0;
+    @Builder.Default
+    private long failures = 0;
+    @Builder.Default
+    private long fallbacks = 0;
+    @Builder.Default
+    private long retries = 0;
+    @Builder.Default
+    private long charsSent = 0;
+    @Builder.Default
+    private long charsReceived = 0;
+    @Builder.Default
+    private long billedChars = 0;
+    @Builder.Default
+    private long inputTokens = 0;
+    @Builder.Default
+    private long outputTokens = 0;
+    @Builder.Default
+    private long latencyMillis = 0;
+}
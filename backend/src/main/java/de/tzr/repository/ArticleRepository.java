@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,11 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     long countByStatus(ArticleStatus status);
 
+    @Query("SELECT a FROM Article a WHERE a.status = :status AND a.publishedDate > :after AND a.publishedDate <= :until " +
+           "ORDER BY a.publishedDate DESC, a.id DESC")
+    List<Article> findPublishedBetween(@Param("status") ArticleStatus status, @Param("after") LocalDate after,
+                                       @Param("until") LocalDate until);
+
     @Query("SELECT a FROM Article a WHERE a.status = :status AND a.category.slug = :categorySlug AND a.id <> :excludeId ORDER BY a.publishedDate DESC")
     Page<Article> findRelated(@Param("status") ArticleStatus status, @Param("categorySlug") String categorySlug, @Param("excludeId") Long excludeId, Pageable pageable);
 
@@ -50,4 +57,14 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     @Query("SELECT a.author.id, COUNT(a) FROM Article a GROUP BY a.author.id")
     List<Object[]> countGroupedByAuthorId();
+
+    @Query("SELECT a.id FROM Article a")
+    List<Long> findAllIds();
+
+    @Query("SELECT a.id, a.title FROM Article a WHERE a.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every id paired with each language that has a complete translation, or with null if none has. */
+    @Query("SELECT a.id, t.language FROM Article a LEFT JOIN a.translations t ON LENGTH(t.title) > 0 AND LENGTH(t.body) > 0")
+    List<Object[]> findTranslatedLanguages();
 }
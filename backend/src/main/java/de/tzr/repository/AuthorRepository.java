@@ -2,10 +2,24 @@ package de.tzr.repository;
 
 import de.tzr.model.Author;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AuthorRepository extends JpaRepository<Author, Long> {
     Optional<Author> findBySlug(String slug);
     boolean existsBySlug(String slug);
+
+    @Query("SELECT a.id FROM Author a")
+    List<Long> findAllIds();
+
+    @Query("SELECT a.id, a.name FROM Author a WHERE a.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every id paired with each language that has a complete translation, or with null if none has. */
+    @Query("SELECT a.id, t.language FROM Author a LEFT JOIN a.translations t ON LENGTH(t.bio) > 0")
+    List<Object[]> findTranslatedLanguages();
 }
@@ -3,7 +3,10 @@ package de.tzr.repository;
 import de.tzr.model.Category;
 import de.tzr.model.CategoryType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +15,14 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsBySlug(String slug);
     List<Category> findAllByOrderBySortOrderAsc();
     List<Category> findByType(CategoryType type);
+
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.id, c.displayName FROM Category c WHERE c.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every id paired with each language that has a complete translation, or with null if none has. */
+    @Query("SELECT c.id, t.language FROM Category c LEFT JOIN c.translations t ON LENGTH(t.name) > 0")
+    List<Object[]> findTranslatedLanguages();
 }
@@ -0,0 +1,52 @@
+package de.tzr.repository;
+
+import de.tzr.model.EmailKind;
+import de.tzr.model.EmailOutbox;
+import de.tzr.model.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = de.tzr.model.EmailOutboxStatus.PENDING " +
+           "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a due row for one delivery attempt by pushing its next attempt past the lease.
+     * Returns 0 if another worker claimed it first. A worker that dies mid-send leaves the row
+     * to be retried once the lease runs out.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id = :id AND e.status = de.tzr.model.EmailOutboxStatus.PENDING AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = de.tzr.model.EmailOutboxStatus.SENT, e.sentAt = :now, " +
+           "e.lastError = null WHERE e.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Records a failed attempt: rescheduled at {@code nextAttemptAt} while PENDING, or given up as FAILED. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error " +
+           "WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") EmailOutboxStatus status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    /** Drops unsent emails of {@code kind} to {@code recipient}, e.g. a verification link that was reissued. */
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.recipient = :recipient AND e.kind = :kind " +
+           "AND e.status = de.tzr.model.EmailOutboxStatus.PENDING")
+    int deletePending(@Param("recipient") String recipient, @Param("kind") EmailKind kind);
+}
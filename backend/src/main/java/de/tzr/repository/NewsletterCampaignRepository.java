@@ -0,0 +1,15 @@
+package de.tzr.repository;
+
+import de.tzr.model.NewsletterCampaign;
+import de.tzr.model.NewsletterCampaignStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface NewsletterCampaignRepository extends JpaRepository<NewsletterCampaign, Long> {
+    List<NewsletterCampaign> findAllByOrderByCreatedAtDesc();
+    List<NewsletterCampaign> findByStatusOrderByCreatedAt(NewsletterCampaignStatus status);
+    boolean existsByStatus(NewsletterCampaignStatus status);
+    Optional<NewsletterCampaign> findTopByStatusOrderByPeriodEndDesc(NewsletterCampaignStatus status);
+}
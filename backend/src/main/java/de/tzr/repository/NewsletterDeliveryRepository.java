@@ -0,0 +1,12 @@
+package de.tzr.repository;
+
+import de.tzr.model.NewsletterDelivery;
+import de.tzr.model.NewsletterDeliveryStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface NewsletterDeliveryRepository extends JpaRepository<NewsletterDelivery, Long> {
+    List<NewsletterDelivery> findByCampaignIdOrderBySubscriberId(Long campaignId);
+    long countByCampaignIdAndStatus(Long campaignId, NewsletterDeliveryStatus status);
+}
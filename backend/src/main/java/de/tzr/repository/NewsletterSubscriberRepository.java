@@ -1,12 +1,32 @@
 package de.tzr.repository;
 
 import de.tzr.model.NewsletterSubscriber;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface NewsletterSubscriberRepository extends JpaRepository<NewsletterSubscriber, Long> {
     boolean existsByEmail(String email);
     Optional<NewsletterSubscriber> findByEmail(String email);
     Optional<NewsletterSubscriber> findByConfirmationToken(String token);
+
+    /** Keyset page of confirmed subscribers after {@code afterId}; pass {@code PageRequest.of(0, size)}. */
+    List<NewsletterSubscriber> findByConfirmedTrueAndIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id FROM NewsletterSubscriber s WHERE s.confirmed = false AND s.tokenExpiresAt < :cutoff ORDER BY s.id")
+    List<Long> findExpiredUnconfirmedIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /** Deletes the given subscribers if they are still unconfirmed and expired, i.e. did not re-subscribe meanwhile. */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NewsletterSubscriber s WHERE s.id IN :ids AND s.confirmed = false AND s.tokenExpiresAt < :cutoff")
+    int deleteExpiredUnconfirmed(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
 }
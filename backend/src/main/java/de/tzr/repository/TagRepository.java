@@ -2,11 +2,25 @@ package de.tzr.repository;
 
 import de.tzr.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findBySlug(String slug);
     boolean existsBySlug(String slug);
     Optional<Tag> findByNameIgnoreCase(String name);
+
+    @Query("SELECT t.id FROM Tag t")
+    List<Long> findAllIds();
+
+    @Query("SELECT t.id, t.name FROM Tag t WHERE t.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+
+    /** Every id paired with each language that has a complete translation, or with null if none has. */
+    @Query("SELECT t.id, tr.language FROM Tag t LEFT JOIN t.translations tr ON LENGTH(tr.name) > 0")
+    List<Object[]> findTranslatedLanguages();
 }
@@ -0,0 +1,12 @@
+package de.tzr.repository;
+
+import de.tzr.model.TranslationBatch;
+import de.tzr.model.TranslationBatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TranslationBatchRepository extends JpaRepository<TranslationBatch, Long> {
+    List<TranslationBatch> findByStatus(TranslationBatchStatus status);
+    List<TranslationBatch> findAllByOrderByCreatedAtDesc();
+}
@@ -1,14 +1,47 @@
 package de.tzr.repository;
 
+import de.tzr.model.Language;
 import de.tzr.model.TranslationTask;
 import de.tzr.model.TranslationTaskEntityType;
 import de.tzr.model.TranslationTaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TranslationTaskRepository extends JpaRepository<TranslationTask, Long> {
     List<TranslationTask> findByStatus(TranslationTaskStatus status);
+    List<TranslationTask> findByIdInAndStatusAndUpdatedAt(Collection<Long> ids, TranslationTaskStatus status, LocalDateTime updatedAt);
     long countByStatus(TranslationTaskStatus status);
+    @Query("SELECT t.id FROM TranslationTask t WHERE t.status = :status ORDER BY t.id")
+    List<Long> findIdsByStatus(@Param("status") TranslationTaskStatus status);
+
     List<TranslationTask> findByEntityTypeAndEntityId(TranslationTaskEntityType entityType, Long entityId);
+
+    @Query("SELECT t FROM TranslationTask t WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:entityType IS NULL OR t.entityType = :entityType) AND (:targetLang IS NULL OR t.targetLang = :targetLang)")
+    Page<TranslationTask> search(@Param("status") TranslationTaskStatus status, @Param("entityType") TranslationTaskEntityType entityType,
+                                 @Param("targetLang") Language targetLang, Pageable pageable);
+
+    /** Moves the open (not DONE) tasks of one entity and target language to {@code status}. */
+    @Modifying
+    @Query("UPDATE TranslationTask t SET t.status = :status, t.updatedAt = :now WHERE t.entityType = :entityType " +
+           "AND t.entityId = :entityId AND t.targetLang = :targetLang AND t.status <> de.tzr.model.TranslationTaskStatus.DONE")
+    int updateOpenStatus(@Param("entityType") TranslationTaskEntityType entityType, @Param("entityId") Long entityId,
+                         @Param("targetLang") Language targetLang, @Param("status") TranslationTaskStatus status,
+                         @Param("now") LocalDateTime now);
+
+    /** Moves the given tasks from {@code from} to {@code to}; tasks in any other status are left alone. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TranslationTask t SET t.status = :to, t.updatedAt = :now WHERE t.id IN :ids AND t.status = :from")
+    int transition(@Param("ids") Collection<Long> ids, @Param("from") TranslationTaskStatus from,
+                   @Param("to") TranslationTaskStatus to, @Param("now") LocalDateTime now);
 }
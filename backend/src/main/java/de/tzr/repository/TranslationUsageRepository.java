@@ -0,0 +1,15 @@
+package de.tzr.repository;
+
+import de.tzr.model.Language;
+import de.tzr.model.TranslationUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TranslationUsageRepository extends JpaRepository<TranslationUsage, Long> {
+    Optional<TranslationUsage> findByBucketStartAndProviderAndEntityTypeAndLanguage(
+        LocalDateTime bucketStart, String provider, String entityType, Language language);
+    List<TranslationUsage> findByBucketStartGreaterThanEqualOrderByBucketStart(LocalDateTime from);
+}
@@ -0,0 +1,89 @@
+package de.tzr.service;
+
+import de.tzr.config.JwtUtil;
+import de.tzr.dto.AdminUserDTO;
+import de.tzr.exception.ResourceNotFoundException;
+import de.tzr.model.AdminUser;
+import de.tzr.repository.AdminUserRepository;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admin users by username, held for {@code jwt.principal-cache-ttl}. Requests are normally
+ * resolved from the access token's claims alone; a cached entry takes precedence because
+ * {@link de.tzr.config.AdminUserChangeListener} refreshes it whenever the user changes, so an
+ * edited role or a deleted user applies at once instead of when the token expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminPrincipalCache {
+
+    /** {@code user} is null for a deleted user. */
+    private record Entry(AdminUserDTO user, long expiresAt) {}
+
+    private final AdminUserRepository adminUserRepository;
+
+    @Value("${jwt.principal-cache-ttl:PT1H}")
+    private Duration ttl;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The user an access token belongs to, or empty if that user has since been deleted or the
+     * token lacks the user claims.
+     */
+    public Optional<AdminUserDTO> resolve(Claims claims) {
+        Entry entry = fresh(claims.getSubject());
+        if (entry != null) return Optional.ofNullable(entry.user());
+
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Number id = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        if (role == null || id == null) return Optional.empty();
+        return Optional.of(new AdminUserDTO(id.longValue(), claims.getSubject(),
+            claims.get(JwtUtil.CLAIM_DISPLAY_NAME, String.class), role));
+    }
+
+    public AdminUserDTO get(String username) {
+        Entry entry = fresh(username);
+        AdminUserDTO user = entry != null ? entry.user() : load(username);
+        if (user == null) throw new ResourceNotFoundException("User not found");
+        return user;
+    }
+
+    public void put(AdminUserDTO user) {
+        entries.put(user.username(), new Entry(user, expiry()));
+    }
+
+    public void removed(String username) {
+        entries.put(username, new Entry(null, expiry()));
+    }
+
+    private AdminUserDTO load(String username) {
+        AdminUserDTO user = adminUserRepository.findByUsername(username).map(AdminPrincipalCache::toDto).orElse(null);
+        entries.put(username, new Entry(user, expiry()));
+        return user;
+    }
+
+    private Entry fresh(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) return null;
+        if (entry.expiresAt() > System.currentTimeMillis()) return entry;
+        entries.remove(username, entry);
+        return null;
+    }
+
+    private long expiry() {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    public static AdminUserDTO toDto(AdminUser user) {
+        return new AdminUserDTO(user.getId(), user.getUsername(), user.getDisplayName(), user.getRole().name());
+    }
+}
@@ -1,5 +1,6 @@
 package de.tzr.service;
 
+import de.tzr.config.CacheConfig;
 import de.tzr.dto.*;
 import de.tzr.exception.ResourceNotFoundException;
 import de.tzr.exception.SlugAlreadyExistsException;
@@ -7,6 +8,7 @@ import de.tzr.mapper.ArticleMapper;
 import de.tzr.model.*;
 import de.tzr.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,7 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,7 +32,7 @@ public class ArticleService {
     private final ArticleTranslationRepository articleTranslationRepository;
     private final ArticleMapper articleMapper;
     private final TranslationTaskService translationTaskService;
-    private final AutoTranslationService autoTranslationService;
+    private final TranslationCoalescer translationCoalescer;
 
     @Transactional(readOnly = true)
     public PageResponse<ArticleListDTO> getAllPublished(Language lang, Pageable pageable) {
@@ -107,6 +110,7 @@ public class ArticleService {
         return articleMapper.toDTO(article);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public ArticleDTO create(ArticleCreateDTO dto) {
         String slug = (dto.slug() != null && !dto.slug().isBlank()) ? dto.slug() : SlugUtil.slugify(dto.title());
         if (articleRepository.existsBySlug(slug)) {
@@ -147,14 +151,16 @@ public class ArticleService {
             article.setPublishedDate(LocalDate.now());
         }
 
+        article.setFingerprints(sourceFingerprints(article));
         article = articleRepository.save(article);
         saveTranslations(article, dto.translations());
         translationTaskService.createTasksForEntity(TranslationTaskEntityType.ARTICLE, article.getId());
-        autoTranslationService.translateArticle(article.getId(), Language.DEFAULT);
+        translationCoalescer.request(TranslationTaskEntityType.ARTICLE, article.getId(), Language.DEFAULT);
 
         return articleMapper.toDTO(article);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public ArticleDTO update(Long id, ArticleCreateDTO dto) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Article not found: " + id));
@@ -163,6 +169,7 @@ public class ArticleService {
         if (!newSlug.equals(article.getSlug()) && articleRepository.existsBySlug(newSlug)) {
             throw new SlugAlreadyExistsException(newSlug);
         }
+        FieldFingerprints before = article.getFingerprints() != null ? article.getFingerprints() : sourceFingerprints(article);
 
         Category category = categoryRepository.findById(dto.categoryId())
             .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + dto.categoryId()));
@@ -175,7 +182,7 @@ public class ArticleService {
         article.setBody(dto.body());
         article.setCategory(category);
         article.setAuthor(author);
-        if (dto.tagIds() != null) {
+        if (dto.tagIds() != null && !sameTags(article.getTags(), dto.tagIds())) {
             article.setTags(new HashSet<>(tagRepository.findAllById(dto.tagIds())));
         }
         article.setCardEmoji(dto.cardEmoji());
@@ -195,9 +202,17 @@ public class ArticleService {
             article.setPublishedDate(LocalDate.now());
         }
 
-        article = articleRepository.save(article);
         saveTranslations(article, dto.translations());
-        autoTranslationService.translateArticle(article.getId(), Language.DEFAULT);
+        FieldFingerprints after = sourceFingerprints(article);
+        Set<Language> affected = TranslationChanges.affectedLanguages(before, after, article.getTranslations());
+        TranslationChanges.stampUnrecorded(before, after, article.getTranslations());
+        article.setFingerprints(after);
+        // Unchanged values leave the managed entity clean, so this issues no UPDATE.
+        article = articleRepository.save(article);
+        if (!affected.isEmpty()) {
+            translationTaskService.createTasksForEntity(TranslationTaskEntityType.ARTICLE, article.getId(), affected);
+            translationCoalescer.request(TranslationTaskEntityType.ARTICLE, article.getId(), Language.DEFAULT);
+        }
 
         return articleMapper.toDTO(article);
     }
@@ -226,6 +241,7 @@ public class ArticleService {
         articleRepository.save(article);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public void delete(Long id, boolean hard) {
         Article article = articleRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Article not found: " + id));
@@ -248,6 +264,13 @@ public class ArticleService {
                     .language(lang)
                     .build();
             }
+            if (TranslationChanges.edited(t.getTitle(), dto.title())
+                || TranslationChanges.edited(t.getExcerpt(), dto.excerpt())
+                || TranslationChanges.edited(t.getBody(), dto.body())
+                || TranslationChanges.edited(t.getMetaTitle(), dto.metaTitle())
+                || TranslationChanges.edited(t.getMetaDescription(), dto.metaDescription())) {
+                t.setManual(true);
+            }
             t.setTitle(dto.title());
             t.setExcerpt(dto.excerpt());
             t.setBody(dto.body());
@@ -259,6 +282,14 @@ public class ArticleService {
         }
     }
 
+    private static FieldFingerprints sourceFingerprints(Article article) {
+        return FieldFingerprints.of(TranslationSourceLoader.articleFields(article, Language.DEFAULT));
+    }
+
+    private static boolean sameTags(Set<Tag> tags, List<Long> tagIds) {
+        return tags.stream().map(Tag::getId).collect(Collectors.toSet()).equals(new HashSet<>(tagIds));
+    }
+
     private PageResponse<ArticleListDTO> toPageResponse(Page<Article> page, Language lang) {
         List<ArticleListDTO> content = page.getContent().stream()
             .map(a -> articleMapper.toListDTO(a, lang)).toList();
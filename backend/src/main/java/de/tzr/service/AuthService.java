@@ -7,8 +7,8 @@ import de.tzr.dto.LoginResponse;
 import de.tzr.exception.ResourceNotFoundException;
 import de.tzr.model.AdminUser;
 import de.tzr.repository.AdminUserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,18 +16,27 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final AdminUserRepository adminUserRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final AdminPrincipalCache adminPrincipalCache;
 
     public LoginResponse login(LoginRequest request) {
-        AdminUser user = adminUserRepository.findByUsername(request.username())
-            .orElseThrow(() -> new ResourceNotFoundException("Invalid credentials"));
+        AdminUser user = adminUserRepository.findByUsername(request.username()).orElse(null);
+        if (user == null) {
+            passwordVerifier.matchesNone(request.password());
+            throw new ResourceNotFoundException("Invalid credentials");
+        }
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        if (!passwordVerifier.matches(request.password(), user.getPasswordHash())) {
             throw new ResourceNotFoundException("Invalid credentials");
         }
+        passwordVerifier.upgradedHash(request.password(), user.getPasswordHash()).ifPresent(hash -> {
+            user.setPasswordHash(hash);
+            adminUserRepository.save(user);
+        });
 
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user);
         String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
 
         return new LoginResponse(token, refreshToken, jwtUtil.getExpirationMs(),
@@ -35,23 +44,32 @@ public class AuthService {
     }
 
     public LoginResponse refresh(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new ResourceNotFoundException("Invalid refresh token");
-        }
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
+        Claims claims = jwtUtil.parseClaims(refreshToken, JwtUtil.TYPE_REFRESH)
+            .filter(c -> !tokenRevocationService.isRevoked(c.getId()))
+            .orElseThrow(() -> new ResourceNotFoundException("Invalid refresh token"));
+        String username = claims.getSubject();
         AdminUser user = adminUserRepository.findByUsername(username)
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        String newToken = jwtUtil.generateToken(username);
+        // rotation: each refresh token can be exchanged once, by whichever request revokes it first
+        if (!tokenRevocationService.revoke(claims)) {
+            throw new ResourceNotFoundException("Invalid refresh token");
+        }
+        String newToken = jwtUtil.generateToken(user);
         String newRefreshToken = jwtUtil.generateRefreshToken(username);
 
         return new LoginResponse(newToken, newRefreshToken, jwtUtil.getExpirationMs(),
             new AdminUserDTO(user.getId(), user.getUsername(), user.getDisplayName(), user.getRole().name()));
     }
 
+    /** Revokes the given tokens; invalid or missing ones are ignored so logout always succeeds. */
+    public void logout(String token, String refreshToken) {
+        for (String t : new String[] {token, refreshToken}) {
+            if (t != null) jwtUtil.parseClaims(t).ifPresent(tokenRevocationService::revoke);
+        }
+    }
+
     public AdminUserDTO getCurrentUser(String username) {
-        AdminUser user = adminUserRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return new AdminUserDTO(user.getId(), user.getUsername(), user.getDisplayName(), user.getRole().name());
+        return adminPrincipalCache.get(username);
     }
 }
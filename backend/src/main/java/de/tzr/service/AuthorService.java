@@ -1,5 +1,6 @@
 package de.tzr.service;
 
+import de.tzr.config.CacheConfig;
 import de.tzr.dto.AuthorCreateDTO;
 import de.tzr.dto.AuthorDTO;
 import de.tzr.dto.AuthorTranslationDTO;
@@ -11,11 +12,13 @@ import de.tzr.repository.ArticleRepository;
 import de.tzr.repository.AuthorRepository;
 import de.tzr.repository.AuthorTranslationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,7 +31,7 @@ public class AuthorService {
     private final AuthorTranslationRepository authorTranslationRepository;
     private final AuthorMapper authorMapper;
     private final TranslationTaskService translationTaskService;
-    private final AutoTranslationService autoTranslationService;
+    private final TranslationCoalescer translationCoalescer;
 
     @Transactional(readOnly = true)
     public List<AuthorDTO> getAll() {
@@ -58,6 +61,7 @@ public class AuthorService {
         return authorMapper.toDTO(author, (int) articleRepository.countByAuthorId(id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public AuthorDTO create(AuthorCreateDTO dto) {
         String slug = (dto.slug() != null && !dto.slug().isBlank()) ? dto.slug() : SlugUtil.slugify(dto.name());
         if (authorRepository.existsBySlug(slug)) {
@@ -65,13 +69,15 @@ public class AuthorService {
         }
         Author author = authorMapper.toEntity(dto);
         author.setSlug(slug);
+        author.setFingerprints(sourceFingerprints(author));
         author = authorRepository.save(author);
         saveTranslations(author, dto.translations());
         translationTaskService.createTasksForEntity(TranslationTaskEntityType.AUTHOR, author.getId());
-        autoTranslationService.translateAuthor(author.getId(), Language.DEFAULT);
+        translationCoalescer.request(TranslationTaskEntityType.AUTHOR, author.getId(), Language.DEFAULT);
         return authorMapper.toDTO(author);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public AuthorDTO update(Long id, AuthorCreateDTO dto) {
         Author author = authorRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Author not found: " + id));
@@ -80,6 +86,7 @@ public class AuthorService {
         if (!newSlug.equals(author.getSlug()) && authorRepository.existsBySlug(newSlug)) {
             throw new SlugAlreadyExistsException(newSlug);
         }
+        FieldFingerprints before = author.getFingerprints() != null ? author.getFingerprints() : sourceFingerprints(author);
 
         author.setName(dto.name());
         author.setSlug(newSlug);
@@ -87,12 +94,20 @@ public class AuthorService {
         author.setEmail(dto.email());
         author.setAvatarUrl(dto.avatarUrl());
 
-        author = authorRepository.save(author);
         saveTranslations(author, dto.translations());
-        autoTranslationService.translateAuthor(author.getId(), Language.DEFAULT);
+        FieldFingerprints after = sourceFingerprints(author);
+        Set<Language> affected = TranslationChanges.affectedLanguages(before, after, author.getTranslations());
+        TranslationChanges.stampUnrecorded(before, after, author.getTranslations());
+        author.setFingerprints(after);
+        author = authorRepository.save(author);
+        if (!affected.isEmpty()) {
+            translationTaskService.createTasksForEntity(TranslationTaskEntityType.AUTHOR, author.getId(), affected);
+            translationCoalescer.request(TranslationTaskEntityType.AUTHOR, author.getId(), Language.DEFAULT);
+        }
         return authorMapper.toDTO(author);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public void delete(Long id) {
         Author author = authorRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Author not found: " + id));
@@ -104,6 +119,10 @@ public class AuthorService {
         authorRepository.delete(author);
     }
 
+    private static FieldFingerprints sourceFingerprints(Author author) {
+        return FieldFingerprints.of(TranslationSourceLoader.authorFields(author, Language.DEFAULT));
+    }
+
     private void saveTranslations(Author author, List<AuthorTranslationDTO> translations) {
         if (translations == null) return;
         for (AuthorTranslationDTO dto : translations) {
@@ -115,6 +134,9 @@ public class AuthorService {
                     .language(lang)
                     .build();
             }
+            if (TranslationChanges.edited(t.getBio(), dto.bio())) {
+                t.setManual(true);
+            }
             t.setBio(dto.bio());
             author.getTranslations().put(lang, t);
             authorTranslationRepository.save(t);
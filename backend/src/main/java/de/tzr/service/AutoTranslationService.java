@@ -1,302 +1,149 @@
 package de.tzr.service;
 
 import de.tzr.config.TranslationProperties;
-import de.tzr.model.*;
-import de.tzr.repository.*;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import de.tzr.service.TranslationSourceLoader.Snapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Translates an entity into every other language in three phases, so no database connection is
+ * held while providers are called:
+ * <ol>
+ *   <li>read a detached snapshot of the source fields in a short read-only transaction,</li>
+ *   <li>call the providers outside any transaction,</li>
+ *   <li>write all target languages in one short transaction.</li>
+ * </ol>
+ * Fields are split into two lanes. List-visible fields (titles, excerpts, meta, names) run on the
+ * fast lane, prefer the fast provider and are committed as soon as they are done. Bodies, bios
+ * and descriptions follow on the bulk lane, which has its own concurrency budget; the lane that
+ * finishes last completes the translation tasks.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AutoTranslationService {
 
-    private final TranslationProperties props;
-    private final DeepLTranslationClient deepLClient;
-    private final ClaudeTranslationClient claudeClient;
-    private final ArticleRepository articleRepository;
-    private final CategoryRepository categoryRepository;
-    private final AuthorRepository authorRepository;
-    private final TagRepository tagRepository;
-    private final ArticleTranslationRepository articleTranslationRepository;
-    private final CategoryTranslationRepository categoryTranslationRepository;
-    private final AuthorTranslationRepository authorTranslationRepository;
-    private final TagTranslationRepository tagTranslationRepository;
-    private final TranslationTaskRepository translationTaskRepository;
-
-    @Async
-    public void translateArticle(Long articleId, Language sourceLang) {
-        if (!props.isAutoTranslate()) return;
-        log.info("Auto-translating article {} from {}", articleId, sourceLang);
-
-        for (Language targetLang : targetLanguages(sourceLang)) {
-            try {
-                translateArticleToLang(articleId, sourceLang, targetLang);
-            } catch (Exception e) {
-                log.error("Failed to auto-translate article {} to {}: {}", articleId, targetLang, e.getMessage());
-            }
-        }
-    }
-
-    @Transactional
-    protected void translateArticleToLang(Long articleId, Language sourceLang, Language targetLang) {
-        Article article = articleRepository.findById(articleId).orElse(null);
-        if (article == null) return;
+    private static final Set<String> FAST_FIELDS = Set.of("title", "excerpt", "metaTitle", "metaDescription", "name", "displayName");
+    private static final Set<String> HTML_FIELDS = Set.of("body");
 
-        String sourceTitle = getArticleField(article, sourceLang, "title");
-        String sourceExcerpt = getArticleField(article, sourceLang, "excerpt");
-        String sourceBody = getArticleField(article, sourceLang, "body");
-        String sourceMetaTitle = getArticleField(article, sourceLang, "metaTitle");
-        String sourceMetaDesc = getArticleField(article, sourceLang, "metaDescription");
-
-        String translatedTitle = translateShort(sourceTitle, sourceLang, targetLang);
-        String translatedExcerpt = translateShort(sourceExcerpt, sourceLang, targetLang);
-        String translatedBody = translateLong(sourceBody, sourceLang, targetLang);
-        String translatedMetaTitle = translateShort(sourceMetaTitle, sourceLang, targetLang);
-        String translatedMetaDesc = translateShort(sourceMetaDesc, sourceLang, targetLang);
-
-        if (translatedTitle == null && translatedBody == null) {
-            log.warn("No translations produced for article {} -> {}", articleId, targetLang);
-            return;
-        }
-
-        ArticleTranslation translation = articleTranslationRepository
-            .findByArticleIdAndLanguage(articleId, targetLang)
-            .orElse(ArticleTranslation.builder()
-                .article(article)
-                .language(targetLang)
-                .build());
-
-        if (translatedTitle != null) translation.setTitle(translatedTitle);
-        if (translatedExcerpt != null) translation.setExcerpt(translatedExcerpt);
-        if (translatedBody != null) translation.setBody(translatedBody);
-        if (translatedMetaTitle != null) translation.setMetaTitle(translatedMetaTitle);
-        if (translatedMetaDesc != null) translation.setMetaDescription(translatedMetaDesc);
-        translation.setReadingTimeMinutes(article.getReadingTimeMinutes());
+    private final TranslationProperties props;
+    private final TranslationRouter translationRouter;
+    private final TranslationSourceLoader sourceLoader;
+    private final TranslationWriter translationWriter;
+    private final Executor translationFastExecutor;
+    private final Executor translationBulkExecutor;
 
-        articleTranslationRepository.save(translation);
-        markTaskDone(TranslationTaskEntityType.ARTICLE, articleId, targetLang);
-        log.info("Auto-translated article {} to {}", articleId, targetLang);
+    /**
+     * Starts translating the entity and returns when both lanes are done. Only fields whose
+     * translation is missing or stale are sent to providers. Editor-triggered work goes through
+     * {@link TranslationCoalescer} rather than calling this directly.
+     */
+    public CompletableFuture<Void> translate(TranslationTaskEntityType type, Long id, Language sourceLang) {
+        if (!props.isAutoTranslate()) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture
+            .supplyAsync(() -> {
+                log.info("Auto-translating {} {} from {}", type, id, sourceLang);
+                Snapshot snapshot = sourceLoader.snapshot(type, id, sourceLang);
+                if (snapshot == null) return null;
+
+                Map<Language, Set<String>> fast = laneFields(snapshot, true);
+                Map<Language, Set<String>> bulk = laneFields(snapshot, false);
+                Set<Language> doneAfterFast = EnumSet.noneOf(Language.class);
+                for (Language lang : targetLanguages(sourceLang)) {
+                    if (bulk.get(lang).isEmpty()) doneAfterFast.add(lang);
+                }
+                Set<Language> fastFailed = runLane(type, id, sourceLang, snapshot, fast,
+                    props.getLanes().getFastProvider(), doneAfterFast);
+                return new BulkWork(snapshot, bulk, fastFailed);
+            }, translationFastExecutor)
+            .thenAcceptAsync(work -> {
+                if (work == null) return;
+                Set<Language> pending = EnumSet.noneOf(Language.class);
+                work.fields().forEach((lang, fields) -> {
+                    if (!fields.isEmpty()) pending.add(lang);
+                });
+                if (pending.isEmpty()) return;
+                // a language whose fast fields failed stays open even if its bulk fields succeed
+                Set<Language> complete = EnumSet.copyOf(pending);
+                complete.removeAll(work.fastFailed());
+                runLane(type, id, sourceLang, work.snapshot(), work.fields(), null, complete);
+            }, translationBulkExecutor);
     }
 
-    @Async
-    public void translateCategory(Long categoryId, Language sourceLang) {
-        if (!props.isAutoTranslate()) return;
-        log.info("Auto-translating category {} from {}", categoryId, sourceLang);
-
-        for (Language targetLang : targetLanguages(sourceLang)) {
+    private record BulkWork(Snapshot snapshot, Map<Language, Set<String>> fields, Set<Language> fastFailed) {}
+
+    /** Translates and writes one lane; returns the languages for which it produced nothing. */
+    private Set<Language> runLane(TranslationTaskEntityType type, Long id, Language sourceLang, Snapshot snapshot,
+                         Map<Language, Set<String>> fieldsByLang, String preferredProvider, Set<Language> complete) {
+        Map<Language, Map<String, String>> translations = new EnumMap<>(Language.class);
+        Set<Language> completed = EnumSet.noneOf(Language.class);
+        completed.addAll(complete);
+        Set<Language> failed = EnumSet.noneOf(Language.class);
+        fieldsByLang.forEach((targetLang, fields) -> {
+            if (fields.isEmpty()) return;
             try {
-                translateCategoryToLang(categoryId, sourceLang, targetLang);
+                Map<String, String> translated = translateFields(type, snapshot.source(), fields, sourceLang, targetLang, preferredProvider);
+                if (translated.values().stream().allMatch(v -> v == null || v.isBlank())) {
+                    log.warn("No translations produced for {} {} {} -> {}", type, id, fields, targetLang);
+                    completed.remove(targetLang);
+                    failed.add(targetLang);
+                } else {
+                    translations.put(targetLang, translated);
+                }
             } catch (Exception e) {
-                log.error("Failed to auto-translate category {} to {}: {}", categoryId, targetLang, e.getMessage());
+                log.error("Failed to auto-translate {} {} to {}: {}", type, id, targetLang, e.getMessage());
+                completed.remove(targetLang);
+                failed.add(targetLang);
             }
-        }
-    }
-
-    @Transactional
-    protected void translateCategoryToLang(Long categoryId, Language sourceLang, Language targetLang) {
-        Category category = categoryRepository.findById(categoryId).orElse(null);
-        if (category == null) return;
-
-        String sourceName = getCategoryField(category, sourceLang, "name");
-        String sourceDisplayName = getCategoryField(category, sourceLang, "displayName");
-        String sourceDesc = getCategoryField(category, sourceLang, "description");
-
-        String translatedName = translateShort(sourceName, sourceLang, targetLang);
-        String translatedDisplayName = translateShort(sourceDisplayName, sourceLang, targetLang);
-        String translatedDesc = translateShort(sourceDesc, sourceLang, targetLang);
+        });
+        if (translations.isEmpty() && completed.isEmpty()) return failed;
 
-        if (translatedName == null && translatedDisplayName == null) return;
-
-        CategoryTranslation translation = categoryTranslationRepository
-            .findByCategoryIdAndLanguage(categoryId, targetLang)
-            .orElse(CategoryTranslation.builder()
-                .category(category)
-                .language(targetLang)
-                .build());
-
-        if (translatedName != null) translation.setName(translatedName);
-        if (translatedDisplayName != null) translation.setDisplayName(translatedDisplayName);
-        if (translatedDesc != null) translation.setDescription(translatedDesc);
-
-        categoryTranslationRepository.save(translation);
-        markTaskDone(TranslationTaskEntityType.CATEGORY, categoryId, targetLang);
-        log.info("Auto-translated category {} to {}", categoryId, targetLang);
+        Set<Language> written = translationWriter.writeAll(type, id, translations, snapshot.fingerprints(), completed);
+        if (!written.isEmpty()) log.info("Auto-translated {} {} to {}", type, id, written);
+        return failed;
     }
 
-    @Async
-    public void translateAuthor(Long authorId, Language sourceLang) {
-        if (!props.isAutoTranslate()) return;
-        log.info("Auto-translating author {} from {}", authorId, sourceLang);
-
-        for (Language targetLang : targetLanguages(sourceLang)) {
-            try {
-                translateAuthorToLang(authorId, sourceLang, targetLang);
-            } catch (Exception e) {
-                log.error("Failed to auto-translate author {} to {}: {}", authorId, targetLang, e.getMessage());
-            }
+    private Map<String, String> translateFields(TranslationTaskEntityType type, Map<String, String> source, Set<String> fields,
+                                                Language sourceLang, Language targetLang, String preferredProvider) {
+        Map<String, String> translated = new LinkedHashMap<>();
+        for (String field : fields) {
+            TextFormat format = HTML_FIELDS.contains(field) ? TextFormat.HTML : TextFormat.PLAIN;
+            translated.put(field, translationRouter.translate(source.get(field), sourceLang, targetLang, format, preferredProvider, type));
         }
+        return translated;
     }
 
-    @Transactional
-    protected void translateAuthorToLang(Long authorId, Language sourceLang, Language targetLang) {
-        Author author = authorRepository.findById(authorId).orElse(null);
-        if (author == null) return;
-
-        String sourceBio = getAuthorBio(author, sourceLang);
-        String translatedBio = translateLong(sourceBio, sourceLang, targetLang);
-
-        if (translatedBio == null) return;
-
-        AuthorTranslation translation = authorTranslationRepository
-            .findByAuthorIdAndLanguage(authorId, targetLang)
-            .orElse(AuthorTranslation.builder()
-                .author(author)
-                .language(targetLang)
-                .build());
-
-        translation.setBio(translatedBio);
-
-        authorTranslationRepository.save(translation);
-        markTaskDone(TranslationTaskEntityType.AUTHOR, authorId, targetLang);
-        log.info("Auto-translated author {} to {}", authorId, targetLang);
-    }
-
-    @Async
-    public void translateTag(Long tagId, Language sourceLang) {
-        if (!props.isAutoTranslate()) return;
-        log.info("Auto-translating tag {} from {}", tagId, sourceLang);
-
-        for (Language targetLang : targetLanguages(sourceLang)) {
-            try {
-                translateTagToLang(tagId, sourceLang, targetLang);
-            } catch (Exception e) {
-                log.error("Failed to auto-translate tag {} to {}: {}", tagId, targetLang, e.getMessage());
+    /** Stale fields per target language that belong to the fast or the bulk lane. */
+    private static Map<Language, Set<String>> laneFields(Snapshot snapshot, boolean fastLane) {
+        Map<Language, Set<String>> lane = new EnumMap<>(Language.class);
+        snapshot.staleFields().forEach((lang, fields) -> {
+            Set<String> selected = new LinkedHashSet<>();
+            for (String field : fields) {
+                if (FAST_FIELDS.contains(field) == fastLane) selected.add(field);
             }
-        }
-    }
-
-    @Transactional
-    protected void translateTagToLang(Long tagId, Language sourceLang, Language targetLang) {
-        Tag tag = tagRepository.findById(tagId).orElse(null);
-        if (tag == null) return;
-
-        String sourceName = tag.getName();
-        if (sourceLang != Language.DEFAULT) {
-            TagTranslation st = tag.getTranslations().get(sourceLang);
-            if (st != null) sourceName = st.getName();
-        }
-
-        String translatedName = translateShort(sourceName, sourceLang, targetLang);
-        if (translatedName == null) return;
-
-        TagTranslation translation = tagTranslationRepository
-            .findByTagIdAndLanguage(tagId, targetLang)
-            .orElse(TagTranslation.builder()
-                .tag(tag)
-                .language(targetLang)
-                .build());
-
-        translation.setName(translatedName);
-
-        tagTranslationRepository.save(translation);
-        markTaskDone(TranslationTaskEntityType.TAG, tagId, targetLang);
-        log.info("Auto-translated tag {} to {}", tagId, targetLang);
-    }
-
-    /**
-     * Short text: use DeepL (faster, cheaper). Falls back to Claude if DeepL fails.
-     */
-    private String translateShort(String text, Language source, Language target) {
-        if (text == null || text.isBlank()) return text;
-        String result = deepLClient.translate(text, source, target);
-        if (result == null) {
-            result = claudeClient.translate(text, source, target);
-        }
-        return result;
-    }
-
-    /**
-     * Long/HTML content: use Claude (better with HTML structure). Falls back to DeepL.
-     */
-    private String translateLong(String text, Language source, Language target) {
-        if (text == null || text.isBlank()) return text;
-        String result = claudeClient.translate(text, source, target);
-        if (result == null) {
-            result = deepLClient.translate(text, source, target);
-        }
-        return result;
+            lane.put(lang, selected);
+        });
+        return lane;
     }
 
     private List<Language> targetLanguages(Language source) {
-        return java.util.Arrays.stream(Language.values())
+        return Arrays.stream(Language.values())
             .filter(l -> l != source)
             .toList();
     }
-
-    private void markTaskDone(TranslationTaskEntityType entityType, Long entityId, Language targetLang) {
-        translationTaskRepository.findByEntityTypeAndEntityId(entityType, entityId).stream()
-            .filter(t -> t.getTargetLang() == targetLang && t.getStatus() != TranslationTaskStatus.DONE)
-            .forEach(t -> {
-                t.setStatus(TranslationTaskStatus.DONE);
-                translationTaskRepository.save(t);
-            });
-    }
-
-    private String getArticleField(Article article, Language lang, String field) {
-        if (lang != Language.DEFAULT) {
-            ArticleTranslation t = article.getTranslations().get(lang);
-            if (t != null) {
-                return switch (field) {
-                    case "title" -> t.getTitle();
-                    case "excerpt" -> t.getExcerpt();
-                    case "body" -> t.getBody();
-                    case "metaTitle" -> t.getMetaTitle();
-                    case "metaDescription" -> t.getMetaDescription();
-                    default -> null;
-                };
-            }
-        }
-        return switch (field) {
-            case "title" -> article.getTitle();
-            case "excerpt" -> article.getExcerpt();
-            case "body" -> article.getBody();
-            case "metaTitle" -> article.getMetaTitle();
-            case "metaDescription" -> article.getMetaDescription();
-            default -> null;
-        };
-    }
-
-    private String getCategoryField(Category category, Language lang, String field) {
-        if (lang != Language.DEFAULT) {
-            CategoryTranslation t = category.getTranslations().get(lang);
-            if (t != null) {
-                return switch (field) {
-                    case "name" -> t.getName();
-                    case "displayName" -> t.getDisplayName();
-                    case "description" -> t.getDescription();
-                    default -> null;
-                };
-            }
-        }
-        return switch (field) {
-            case "name" -> category.getName();
-            case "displayName" -> category.getDisplayName();
-            case "description" -> category.getDescription();
-            default -> null;
-        };
-    }
-
-    private String getAuthorBio(Author author, Language lang) {
-        if (lang != Language.DEFAULT) {
-            AuthorTranslation t = author.getTranslations().get(lang);
-            if (t != null && t.getBio() != null) return t.getBio();
-        }
-        return author.getBio();
-    }
 }
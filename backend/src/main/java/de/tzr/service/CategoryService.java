@@ -1,5 +1,6 @@
 package de.tzr.service;
 
+import de.tzr.config.CacheConfig;
 import de.tzr.dto.CategoryCreateDTO;
 import de.tzr.dto.CategoryDTO;
 import de.tzr.dto.CategoryTranslationDTO;
@@ -11,11 +12,13 @@ import de.tzr.repository.ArticleRepository;
 import de.tzr.repository.CategoryRepository;
 import de.tzr.repository.CategoryTranslationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,7 +31,7 @@ public class CategoryService {
     private final CategoryTranslationRepository categoryTranslationRepository;
     private final CategoryMapper categoryMapper;
     private final TranslationTaskService translationTaskService;
-    private final AutoTranslationService autoTranslationService;
+    private final TranslationCoalescer translationCoalescer;
 
     @Transactional(readOnly = true)
     public List<CategoryDTO> getAll() {
@@ -63,6 +66,7 @@ public class CategoryService {
         return categoryMapper.toDTO(category, (int) articleRepository.countByCategoryId(id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public CategoryDTO create(CategoryCreateDTO dto) {
         String slug = (dto.slug() != null && !dto.slug().isBlank()) ? dto.slug() : SlugUtil.slugify(dto.name());
         if (categoryRepository.existsBySlug(slug)) {
@@ -70,13 +74,15 @@ public class CategoryService {
         }
         Category category = categoryMapper.toEntity(dto);
         category.setSlug(slug);
+        category.setFingerprints(sourceFingerprints(category));
         category = categoryRepository.save(category);
         saveTranslations(category, dto.translations());
         translationTaskService.createTasksForEntity(TranslationTaskEntityType.CATEGORY, category.getId());
-        autoTranslationService.translateCategory(category.getId(), Language.DEFAULT);
+        translationCoalescer.request(TranslationTaskEntityType.CATEGORY, category.getId(), Language.DEFAULT);
         return categoryMapper.toDTO(category);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public CategoryDTO update(Long id, CategoryCreateDTO dto) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + id));
@@ -85,6 +91,7 @@ public class CategoryService {
         if (!newSlug.equals(category.getSlug()) && categoryRepository.existsBySlug(newSlug)) {
             throw new SlugAlreadyExistsException(newSlug);
         }
+        FieldFingerprints before = category.getFingerprints() != null ? category.getFingerprints() : sourceFingerprints(category);
 
         category.setName(dto.name());
         category.setSlug(newSlug);
@@ -96,12 +103,20 @@ public class CategoryService {
         category.setType(CategoryType.valueOf(dto.type()));
         if (dto.sortOrder() != null) category.setSortOrder(dto.sortOrder());
 
-        category = categoryRepository.save(category);
         saveTranslations(category, dto.translations());
-        autoTranslationService.translateCategory(category.getId(), Language.DEFAULT);
+        FieldFingerprints after = sourceFingerprints(category);
+        Set<Language> affected = TranslationChanges.affectedLanguages(before, after, category.getTranslations());
+        TranslationChanges.stampUnrecorded(before, after, category.getTranslations());
+        category.setFingerprints(after);
+        category = categoryRepository.save(category);
+        if (!affected.isEmpty()) {
+            translationTaskService.createTasksForEntity(TranslationTaskEntityType.CATEGORY, category.getId(), affected);
+            translationCoalescer.request(TranslationTaskEntityType.CATEGORY, category.getId(), Language.DEFAULT);
+        }
         return categoryMapper.toDTO(category);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public void delete(Long id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + id));
@@ -122,6 +137,10 @@ public class CategoryService {
         }
     }
 
+    private static FieldFingerprints sourceFingerprints(Category category) {
+        return FieldFingerprints.of(TranslationSourceLoader.categoryFields(category, Language.DEFAULT));
+    }
+
     private void saveTranslations(Category category, List<CategoryTranslationDTO> translations) {
         if (translations == null) return;
         for (CategoryTranslationDTO dto : translations) {
@@ -133,6 +152,11 @@ public class CategoryService {
                     .language(lang)
                     .build();
             }
+            if (TranslationChanges.edited(t.getName(), dto.name())
+                || TranslationChanges.edited(t.getDisplayName(), dto.displayName())
+                || TranslationChanges.edited(t.getDescription(), dto.description())) {
+                t.setManual(true);
+            }
             t.setName(dto.name());
             t.setDisplayName(dto.displayName());
             t.setDescription(dto.description());
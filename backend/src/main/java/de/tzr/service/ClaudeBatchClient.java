@@ -0,0 +1,130 @@
+package de.tzr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tzr.config.TranslationProperties;
+import de.tzr.model.Language;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Client for the Claude Message Batches API: submit many translation requests at once,
+ * poll the batch and stream its JSONL results.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaudeBatchClient {
+
+    /** Provider name in the usage ledger; batch tokens are billed at a discount. */
+    static final String PROVIDER = "claude-batch";
+
+    private final TranslationProperties props;
+    private final ObjectMapper objectMapper;
+    private final RestTemplate claudeRestTemplate;
+    private final ClaudeTranslationClient claudeClient;
+
+    public record BatchRequest(String customId, String text, Language sourceLang, Language targetLang) {}
+
+    public record BatchStatus(String id, String processingStatus, String resultsUrl) {
+        public boolean ended() {
+            return "ended".equals(processingStatus);
+        }
+    }
+
+    /**
+     * One line of the results file. {@code text} is only set for succeeded, non-truncated results;
+     * the token counts are those billed for the request, truncated or not.
+     */
+    public record BatchResult(String customId, String text, long inputTokens, long outputTokens) {
+        public boolean succeeded() {
+            return text != null;
+        }
+    }
+
+    public String submit(List<BatchRequest> requests) throws Exception {
+        List<Map<String, Object>> entries = requests.stream()
+            .map(r -> Map.<String, Object>of(
+                "custom_id", r.customId(),
+                "params", claudeClient.messageParams(r.text(), r.sourceLang(), r.targetLang())))
+            .toList();
+
+        HttpEntity<String> request = new HttpEntity<>(
+            objectMapper.writeValueAsString(Map.of("requests", entries)), headers());
+        ResponseEntity<String> response = claudeRestTemplate.exchange(
+            props.getClaude().getBatchUrl(), HttpMethod.POST, request, String.class);
+
+        JsonNode root = objectMapper.readTree(response.getBody());
+        String batchId = root.path("id").asText(null);
+        if (batchId == null) {
+            throw new IllegalStateException("Claude batch submission returned no id: " + response.getStatusCode());
+        }
+        log.info("Submitted Claude batch {} with {} requests", batchId, requests.size());
+        return batchId;
+    }
+
+    public BatchStatus getStatus(String batchId) throws Exception {
+        ResponseEntity<String> response = claudeRestTemplate.exchange(
+            props.getClaude().getBatchUrl() + "/" + batchId, HttpMethod.GET, new HttpEntity<>(headers()), String.class);
+        JsonNode root = objectMapper.readTree(response.getBody());
+        return new BatchStatus(
+            root.path("id").asText(batchId),
+            root.path("processing_status").asText(),
+            root.path("results_url").asText(null));
+    }
+
+    /**
+     * Streams the results file line by line so large batches never sit in memory as a whole.
+     */
+    public void streamResults(String resultsUrl, Consumer<BatchResult> consumer) {
+        claudeRestTemplate.execute(resultsUrl, HttpMethod.GET,
+            request -> request.getHeaders().addAll(headers()),
+            response -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) consumer.accept(parseResult(objectMapper.readTree(line)));
+                    }
+                }
+                return null;
+            });
+    }
+
+    private BatchResult parseResult(JsonNode line) {
+        String customId = line.path("custom_id").asText();
+        JsonNode result = line.path("result");
+        if (!"succeeded".equals(result.path("type").asText())) {
+            log.warn("Claude batch request {} did not succeed: {}", customId, result.path("type").asText());
+            return new BatchResult(customId, null, 0, 0);
+        }
+        JsonNode message = result.path("message");
+        JsonNode usage = message.path("usage");
+        claudeClient.recordUsage(usage);
+        long inputTokens = usage.path("input_tokens").asLong();
+        long outputTokens = usage.path("output_tokens").asLong();
+        if ("max_tokens".equals(message.path("stop_reason").asText())) {
+            log.warn("Claude batch request {} was truncated at max_tokens", customId);
+            return new BatchResult(customId, null, inputTokens, outputTokens);
+        }
+        return new BatchResult(customId, ClaudeTranslationClient.textOf(message), inputTokens, outputTokens);
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-api-key", props.getClaude().getApiKey());
+        headers.set("anthropic-version", "2023-06-01");
+        return headers;
+    }
+}
@@ -4,24 +4,88 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.tzr.config.TranslationProperties;
 import de.tzr.model.Language;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class ClaudeTranslationClient {
+public class ClaudeTranslationClient implements TranslationProvider {
+
+    private static final int MAX_SPLIT_DEPTH = 3;
 
     private final TranslationProperties props;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate;
+    private final RestTemplate claudeRestTemplate;
+    private final ProviderGuard claudeGuard;
+    private final Executor translationChunkExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /** System prompts, built once per (source, target) pair. */
+    private final Map<String, String> systemPrompts = new ConcurrentHashMap<>();
+
+    private record ClaudeReply(String text, String stopReason) {
+        boolean truncated() {
+            return "max_tokens".equals(stopReason);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "claude";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return props.isClaudeConfigured() && claudeGuard.isAvailable();
+    }
+
+    /**
+     * Any length: bodies beyond the chunk budget are split and translated in parallel.
+     */
+    @Override
+    public boolean supports(TextFormat format, int length) {
+        return true;
+    }
+
+    @Override
+    public double costPerMillionChars() {
+        return props.getClaude().getCostPerMillionChars();
+    }
 
+    /**
+     * Output generation dominates: roughly 3 ms per character, divided across parallel chunks.
+     */
+    @Override
+    public double expectedLatencyMs(TextFormat format, int length) {
+        int maxChars = HtmlChunker.charsForTokens(props.getClaude().getChunkTokens());
+        int parallelism = Math.max(1, Math.min(props.getClaude().getChunkConcurrency(), (length + maxChars - 1) / maxChars));
+        return 1000 + length * 3.0 / parallelism;
+    }
+
+    /**
+     * The prompt already tells Claude to preserve markup, so plain text and HTML go the same way.
+     */
+    @Override
+    public String translate(String text, Language sourceLang, Language targetLang, TextFormat format) {
+        return translate(text, sourceLang, targetLang);
+    }
+
+    /**
+     * Translates text of any length. Bodies above the chunk budget are split at block boundaries,
+     * translated concurrently and stitched back together in order.
+     */
     public String translate(String text, Language sourceLang, Language targetLang) {
         if (text == null || text.isBlank()) return text;
         if (!props.isClaudeConfigured()) {
@@ -29,48 +93,154 @@ public class ClaudeTranslationClient {
             return null;
         }
 
+        int maxChars = HtmlChunker.charsForTokens(props.getClaude().getChunkTokens());
+        List<String> chunks = HtmlChunker.split(text, maxChars);
+        if (chunks.size() == 1) {
+            return translateChunk(text, sourceLang, targetLang, 0);
+        }
+
+        log.info("Translating {} chars in {} chunks ({} -> {})", text.length(), chunks.size(), sourceLang, targetLang);
+        List<CompletableFuture<String>> futures = chunks.stream()
+            .map(chunk -> CompletableFuture.supplyAsync(ProviderCallUsage.propagate(
+                () -> translateChunk(chunk, sourceLang, targetLang, 0)), translationChunkExecutor))
+            .toList();
+
+        StringBuilder result = new StringBuilder(text.length());
+        for (CompletableFuture<String> future : futures) {
+            String translated = future.join();
+            if (translated == null) {
+                futures.forEach(f -> f.cancel(false));
+                return null;
+            }
+            result.append(translated);
+        }
+        return result.toString();
+    }
+
+    /**
+     * A reply cut off at max_tokens is discarded and the chunk is retried as smaller pieces.
+     */
+    private String translateChunk(String chunk, Language sourceLang, Language targetLang, int depth) {
+        if (chunk.isBlank()) return chunk;
+        ClaudeReply reply = call(chunk, sourceLang, targetLang);
+        if (reply == null) return null;
+        if (!reply.truncated()) return reply.text();
+
+        List<String> pieces = HtmlChunker.split(chunk, Math.max(1, chunk.length() / 2));
+        if (depth >= MAX_SPLIT_DEPTH || pieces.size() < 2) {
+            log.error("Claude translation truncated at max_tokens and chunk cannot be split further ({} chars)", chunk.length());
+            return null;
+        }
+        log.warn("Claude translation truncated at max_tokens, retrying as {} smaller chunks", pieces.size());
+        ProviderCallUsage usage = ProviderCallUsage.current();
+        if (usage != null) usage.retries.incrementAndGet();
+        StringBuilder result = new StringBuilder(chunk.length());
+        for (String piece : pieces) {
+            String translated = translateChunk(piece, sourceLang, targetLang, depth + 1);
+            if (translated == null) return null;
+            result.append(translated);
+        }
+        return result.toString();
+    }
+
+    private ClaudeReply call(String text, Language sourceLang, Language targetLang) {
+        if (!claudeGuard.tryAcquire()) {
+            log.warn("Claude circuit open or rate limit reached, skipping translation");
+            return null;
+        }
+
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.set("x-api-key", props.getClaude().getApiKey());
             headers.set("anthropic-version", "2023-06-01");
 
-            String sourceName = langName(sourceLang);
-            String targetName = langName(targetLang);
-
-            String systemPrompt = "You are a professional translator for an educational blog about early childhood education " +
-                "(frühkindliche Bildung). Translate the following content from " + sourceName + " to " + targetName + ". " +
-                "Preserve ALL HTML tags, structure, and formatting exactly as-is. " +
-                "Only translate the text content between/around HTML tags. " +
-                "Maintain the educational and professional tone. " +
-                "Return ONLY the translated content, no explanations or wrapping.";
-
-            Map<String, Object> body = Map.of(
-                "model", props.getClaude().getModel(),
-                "max_tokens", 8192,
-                "system", systemPrompt,
-                "messages", List.of(Map.of("role", "user", "content", text))
-            );
-
-            HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(body), headers);
-            ResponseEntity<String> response = restTemplate.exchange(
+            HttpEntity<String> request = new HttpEntity<>(
+                objectMapper.writeValueAsString(messageParams(text, sourceLang, targetLang)), headers);
+            ResponseEntity<String> response = claudeRestTemplate.exchange(
                 props.getClaude().getApiUrl(), HttpMethod.POST, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 JsonNode root = objectMapper.readTree(response.getBody());
                 JsonNode content = root.get("content");
                 if (content != null && content.isArray() && !content.isEmpty()) {
-                    return content.get(0).get("text").asText();
+                    claudeGuard.onSuccess();
+                    recordUsage(root.path("usage"));
+                    return new ClaudeReply(textOf(root), root.path("stop_reason").asText(null));
                 }
             }
+            claudeGuard.onFailure();
             log.error("Claude translation failed: {}", response.getStatusCode());
             return null;
+        } catch (HttpStatusCodeException e) {
+            int status = e.getStatusCode().value();
+            if (status == 429 || status == 503 || status == 529) {
+                claudeGuard.onThrottled(ProviderGuard.parseRetryAfter(e.getResponseHeaders()), claudeGuard.getOpenDuration());
+                log.warn("Claude throttled ({}), backing off", status);
+            } else {
+                claudeGuard.onFailure();
+                log.error("Claude translation failed: {}", e.getStatusCode());
+            }
+            return null;
         } catch (Exception e) {
+            claudeGuard.onFailure();
             log.error("Claude translation error: {}", e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Messages API request body for translating {@code text}; also used for batch requests.
+     */
+    Map<String, Object> messageParams(String text, Language sourceLang, Language targetLang) {
+        return Map.of(
+            "model", props.getClaude().getModel(),
+            "max_tokens", props.getClaude().getMaxTokens(),
+            "system", systemPrompts.computeIfAbsent(sourceLang + "-" + targetLang,
+                key -> systemPrompt(sourceLang, targetLang)),
+            "messages", List.of(Map.of("role", "user", "content", text))
+        );
+    }
+
+    static String textOf(JsonNode message) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode block : message.path("content")) {
+            if ("text".equals(block.path("type").asText("text"))) {
+                text.append(block.path("text").asText());
+            }
+        }
+        return text.toString();
+    }
+
+    private String systemPrompt(Language sourceLang, Language targetLang) {
+        return "You are a professional translator for an educational blog about early childhood education " +
+            "(frühkindliche Bildung). Translate the following content from " + langName(sourceLang) +
+            " to " + langName(targetLang) + ". " +
+            "Preserve ALL HTML tags, structure, and formatting exactly as-is. " +
+            "Only translate the text content between/around HTML tags. " +
+            "The content may be a fragment of a longer document: do not add, close or remove tags. " +
+            "Maintain the educational and professional tone. " +
+            "Return ONLY the translated content, no explanations or wrapping.";
+    }
+
+    /** Token counters per type; inside a routed call the tokens are also added to its usage. */
+    void recordUsage(JsonNode usage) {
+        if (usage.isMissingNode()) return;
+        ProviderCallUsage call = ProviderCallUsage.current();
+        if (call != null) {
+            call.inputTokens.addAndGet(usage.path("input_tokens").asLong());
+            call.outputTokens.addAndGet(usage.path("output_tokens").asLong());
+        }
+        recordTokens("input", usage.path("input_tokens").asLong());
+        recordTokens("output", usage.path("output_tokens").asLong());
+    }
+
+    private void recordTokens(String type, long tokens) {
+        if (tokens > 0) {
+            meterRegistry.counter("translation.claude.tokens", "type", type).increment(tokens);
+        }
+    }
+
     private String langName(Language lang) {
         return switch (lang) {
             case DE -> "German";
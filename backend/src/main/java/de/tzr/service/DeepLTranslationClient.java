@@ -10,23 +10,60 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class DeepLTranslationClient {
+public class DeepLTranslationClient implements TranslationProvider {
 
     private final TranslationProperties props;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate;
+    private final RestTemplate deepLRestTemplate;
+    private final ProviderGuard deepLGuard;
 
-    public String translate(String text, Language sourceLang, Language targetLang) {
+    @Override
+    public String name() {
+        return "deepl";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return props.isDeepLConfigured() && deepLGuard.isAvailable();
+    }
+
+    @Override
+    public boolean supports(TextFormat format, int length) {
+        return format == TextFormat.HTML
+            ? length <= props.getDeepl().getHtmlMaxChars()
+            : length <= props.getDeepl().getMaxChars();
+    }
+
+    @Override
+    public double costPerMillionChars() {
+        return props.getDeepl().getCostPerMillionChars();
+    }
+
+    @Override
+    public double expectedLatencyMs(TextFormat format, int length) {
+        return format == TextFormat.HTML ? 500 + length * 0.1 : 300 + length * 0.05;
+    }
+
+    /**
+     * HTML is sent with {@code tag_handling=html} so DeepL keeps markup intact.
+     */
+    @Override
+    public String translate(String text, Language sourceLang, Language targetLang, TextFormat format) {
         if (text == null || text.isBlank()) return text;
         if (!props.isDeepLConfigured()) {
             log.warn("DeepL API key not configured, skipping translation");
             return null;
         }
+        if (!deepLGuard.tryAcquire()) {
+            log.warn("DeepL circuit open or rate limit reached, skipping translation");
+            return null;
+        }
 
         try {
             HttpHeaders headers = new HttpHeaders();
@@ -37,21 +74,43 @@ public class DeepLTranslationClient {
             body.add("text", text);
             body.add("source_lang", toDeepLLang(sourceLang));
             body.add("target_lang", toDeepLLang(targetLang));
+            if (format == TextFormat.HTML) {
+                body.add("tag_handling", "html");
+            }
+            body.add("show_billed_characters", "true");
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = deepLRestTemplate.exchange(
                 props.getDeepl().getApiUrl(), HttpMethod.POST, request, String.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 JsonNode root = objectMapper.readTree(response.getBody());
                 JsonNode translations = root.get("translations");
                 if (translations != null && translations.isArray() && !translations.isEmpty()) {
+                    deepLGuard.onSuccess();
+                    ProviderCallUsage usage = ProviderCallUsage.current();
+                    if (usage != null) usage.billedChars.addAndGet(translations.get(0).path("billed_characters").asLong());
                     return translations.get(0).get("text").asText();
                 }
             }
+            deepLGuard.onFailure();
             log.error("DeepL translation failed: {}", response.getStatusCode());
             return null;
+        } catch (HttpStatusCodeException e) {
+            int status = e.getStatusCode().value();
+            if (status == 429 || status == 503) {
+                deepLGuard.onThrottled(ProviderGuard.parseRetryAfter(e.getResponseHeaders()), deepLGuard.getOpenDuration());
+                log.warn("DeepL throttled ({}), backing off", status);
+            } else if (status == 456) {
+                deepLGuard.onThrottled(ProviderGuard.parseRetryAfter(e.getResponseHeaders()), props.getDeepl().getQuotaCooldown());
+                log.error("DeepL quota exceeded, pausing DeepL for {}", props.getDeepl().getQuotaCooldown());
+            } else {
+                deepLGuard.onFailure();
+                log.error("DeepL translation failed: {}", e.getStatusCode());
+            }
+            return null;
         } catch (Exception e) {
+            deepLGuard.onFailure();
             log.error("DeepL translation error for text '{}...': {}", text.substring(0, Math.min(50, text.length())), e.getMessage());
             return null;
         }
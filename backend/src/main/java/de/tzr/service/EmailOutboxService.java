@@ -0,0 +1,139 @@
+package de.tzr.service;
+
+import de.tzr.model.EmailKind;
+import de.tzr.model.EmailOutbox;
+import de.tzr.model.EmailOutboxStatus;
+import de.tzr.model.Language;
+import de.tzr.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+
+/**
+ * Transactional outbox for outgoing emails. Callers enqueue inside their own transaction, so
+ * an email exists exactly when the change that caused it was committed; delivery happens on
+ * the email executor right after commit, with a periodic sweep retrying failures under
+ * exponential backoff.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final Executor emailExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${newsletter.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${newsletter.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${newsletter.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${newsletter.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${newsletter.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(EmailKind kind, String recipient, String token, Language language) {
+        if (kind == EmailKind.VERIFICATION) {
+            outboxRepository.deletePending(recipient, kind);
+        }
+        EmailOutbox email = outboxRepository.save(EmailOutbox.builder()
+            .kind(kind)
+            .recipient(recipient)
+            .token(token)
+            .language(language)
+            .build());
+
+        Long id = email.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(id);
+            }
+        });
+    }
+
+    /** Picks up emails whose first delivery was missed or whose retry is due. */
+    @Scheduled(fixedDelayString = "${newsletter.outbox.poll-interval:PT15S}", initialDelayString = "PT10S")
+    public void sweep() {
+        outboxRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, batchSize))
+            .forEach(this::dispatch);
+    }
+
+    private void dispatch(Long id) {
+        try {
+            emailExecutor.execute(() -> deliver(id));
+        } catch (TaskRejectedException e) {
+            log.warn("Email executor rejected outbox entry {}, leaving it for the next sweep", id);
+        }
+    }
+
+    void deliver(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(id, now, now.plus(lease)) == 0) return;
+        EmailOutbox email = outboxRepository.findById(id).orElse(null);
+        if (email == null) return;
+
+        try {
+            switch (email.getKind()) {
+                case VERIFICATION -> emailService.sendVerificationEmail(email.getRecipient(), email.getToken(), email.getLanguage());
+                case WELCOME -> emailService.sendWelcomeEmail(email.getRecipient(), email.getLanguage());
+            }
+            outboxRepository.markSent(id, LocalDateTime.now());
+            count(email.getKind(), "sent");
+        } catch (RuntimeException e) {
+            String error = describe(e);
+            if (email.getAttempts() >= maxAttempts) {
+                outboxRepository.markAttemptFailed(id, EmailOutboxStatus.FAILED, LocalDateTime.now(), error);
+                count(email.getKind(), "failed");
+                log.error("Giving up on {} email {} after {} attempts: {}",
+                    email.getKind(), id, email.getAttempts(), error);
+            } else {
+                LocalDateTime next = LocalDateTime.now().plus(backoff(email.getAttempts()));
+                outboxRepository.markAttemptFailed(id, EmailOutboxStatus.PENDING, next, error);
+                count(email.getKind(), "retry");
+                log.warn("{} email {} failed (attempt {}), retrying at {}: {}",
+                    email.getKind(), id, email.getAttempts(), next, error);
+            }
+        }
+    }
+
+    /** Initial backoff doubled per failed attempt, capped at the maximum. */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void count(EmailKind kind, String outcome) {
+        meterRegistry.counter("email.outbox.deliveries", "kind", kind.name(), "outcome", outcome).increment();
+    }
+
+    private static String describe(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        String message = root.getClass().getSimpleName() + ": " + root.getMessage();
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,21 +1,35 @@
 package de.tzr.service;
 
+import de.tzr.dto.ArticleListDTO;
+import de.tzr.model.Language;
+import de.tzr.model.NewsletterSubscriber;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    private static final Map<Language, String> ARTICLE_PATH = Map.of(
+        Language.DE, "artikel", Language.PT, "artigo", Language.EN, "article");
+
     private final JavaMailSender mailSender;
+    private final EmailTemplates templates;
+    private final UnsubscribeTokens unsubscribeTokens;
 
     @Value("${newsletter.from}")
     private String fromEmail;
@@ -26,63 +40,73 @@ public class EmailService {
     @Value("${newsletter.base-url}")
     private String baseUrl;
 
-    public void sendVerificationEmail(String toEmail, String token) {
+    public void sendVerificationEmail(String toEmail, String token, Language lang) {
         String confirmUrl = baseUrl + "/api/public/newsletter/confirm?token=" + token;
-        String subject = "Bitte bestätigen Sie Ihre Newsletter-Anmeldung";
-        String html = """
-                <div style="font-family: 'Segoe UI', Arial, sans-serif; max-width: 560px; margin: 0 auto; padding: 2rem;">
-                  <h2 style="color: #1a1a2e; font-size: 1.4rem;">Willkommen bei TZR!</h2>
-                  <p style="color: #333; line-height: 1.7;">
-                    Vielen Dank für Ihr Interesse an unseren Bildungsimpulsen.
-                    Bitte bestätigen Sie Ihre Anmeldung, indem Sie auf den folgenden Link klicken:
-                  </p>
-                  <p style="text-align: center; margin: 2rem 0;">
-                    <a href="%s"
-                       style="display: inline-block; padding: 0.75rem 2rem; background: #3a9e7e; color: #fff;
-                              border-radius: 8px; text-decoration: none; font-weight: 600; font-size: 0.95rem;">
-                      Anmeldung bestätigen
-                    </a>
-                  </p>
-                  <p style="color: #666; font-size: 0.85rem; line-height: 1.6;">
-                    Dieser Link ist 24 Stunden gültig. Falls Sie sich nicht angemeldet haben,
-                    können Sie diese E-Mail einfach ignorieren.
-                  </p>
-                  <hr style="border: none; border-top: 1px solid #eee; margin: 2rem 0;" />
-                  <p style="color: #999; font-size: 0.75rem;">
-                    TZR — Frühkindliche Bildung · tzr.zuacaldeira.com
-                  </p>
-                </div>
-                """.formatted(confirmUrl);
-
-        sendHtmlEmail(toEmail, subject, html);
+        send(EmailTemplates.VERIFICATION, lang, toEmail, Map.of("confirmUrl", confirmUrl, "email", toEmail));
+    }
+
+    public void sendWelcomeEmail(String toEmail, Language lang) {
+        send(EmailTemplates.WELCOME, lang, toEmail, Map.of("email", toEmail));
+    }
+
+    /**
+     * The campaign digest for one language: article cards built once from the mapper output,
+     * shared by every recipient's render.
+     */
+    public record Digest(Language language, String subject, Map<String, Object> model) {}
+
+    public Digest prepareDigest(Language lang, List<ArticleListDTO> articles) {
+        List<Map<String, Object>> cards = articles.stream().map(article -> card(article, lang)).toList();
+        Map<String, Object> model = Map.of("articles", cards, "articleCount", cards.size());
+        String subject = templates.get(EmailTemplates.DIGEST, lang).subject().render(model);
+        return new Digest(lang, subject, model);
+    }
+
+    /**
+     * One recipient's digest, with an unsubscribe link in the footer and the List-Unsubscribe
+     * headers that let mail clients offer one-click unsubscribe.
+     */
+    public MimeMessage createDigestMessage(Digest digest, NewsletterSubscriber subscriber) {
+        String toEmail = subscriber.getEmail();
+        String unsubscribeUrl = baseUrl + "/api/public/newsletter/unsubscribe?id=" + subscriber.getId()
+            + "&token=" + unsubscribeTokens.token(subscriber.getId(), toEmail);
+        String html = templates.get(EmailTemplates.DIGEST, digest.language()).body()
+            .render(Map.of("email", toEmail, "unsubscribeUrl", unsubscribeUrl), digest.model());
+        MimeMessage message = createHtmlMessage(toEmail, digest.subject(), html);
+        try {
+            message.setHeader("List-Unsubscribe", "<" + unsubscribeUrl + ">");
+            message.setHeader("List-Unsubscribe-Post", "List-Unsubscribe=One-Click");
+        } catch (MessagingException e) {
+            throw new MailPreparationException("E-Mail an " + toEmail + " konnte nicht erstellt werden.", e);
+        }
+        return message;
+    }
+
+    private Map<String, Object> card(ArticleListDTO article, Language lang) {
+        Map<String, Object> card = new HashMap<>();
+        card.put("title", article.title());
+        card.put("excerpt", article.excerpt());
+        card.put("cardEmoji", article.cardEmoji());
+        card.put("readingTimeMinutes", article.readingTimeMinutes());
+        card.put("category", article.category() != null ? article.category().displayName() : null);
+        card.put("url", baseUrl + "/" + lang.name().toLowerCase() + "/" + ARTICLE_PATH.get(lang) + "/" + article.slug());
+        return card;
     }
 
-    public void sendWelcomeEmail(String toEmail) {
-        String subject = "Willkommen beim TZR-Newsletter!";
-        String html = """
-                <div style="font-family: 'Segoe UI', Arial, sans-serif; max-width: 560px; margin: 0 auto; padding: 2rem;">
-                  <h2 style="color: #1a1a2e; font-size: 1.4rem;">Ihre Anmeldung ist bestätigt! 🎉</h2>
-                  <p style="color: #333; line-height: 1.7;">
-                    Vielen Dank! Sie erhalten ab sofort unsere monatlichen Bildungsimpulse
-                    mit neuen Praxisideen und Fachartikeln direkt in Ihr Postfach.
-                  </p>
-                  <p style="color: #333; line-height: 1.7;">
-                    Besuchen Sie uns jederzeit auf
-                    <a href="https://tzr.zuacaldeira.com" style="color: #3a9e7e; text-decoration: none; font-weight: 600;">
-                      tzr.zuacaldeira.com
-                    </a>
-                  </p>
-                  <hr style="border: none; border-top: 1px solid #eee; margin: 2rem 0;" />
-                  <p style="color: #999; font-size: 0.75rem;">
-                    TZR — Frühkindliche Bildung · tzr.zuacaldeira.com
-                  </p>
-                </div>
-                """;
-
-        sendHtmlEmail(toEmail, subject, html);
+    /**
+     * Sends all messages over a single SMTP connection. Recipients the server rejects do not
+     * abort the batch; they are returned with their failure, keyed by message, in send order.
+     */
+    public Map<Object, Exception> sendBatch(MimeMessage[] messages) {
+        try {
+            mailSender.send(messages);
+            return Map.of();
+        } catch (MailSendException e) {
+            return e.getFailedMessages();
+        }
     }
 
-    private void sendHtmlEmail(String to, String subject, String html) {
+    public MimeMessage createHtmlMessage(String to, String subject, String html) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
@@ -90,14 +114,21 @@ public class EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(html, true);
-            mailSender.send(message);
+            return message;
+        } catch (MessagingException | java.io.UnsupportedEncodingException e) {
+            throw new MailPreparationException("E-Mail an " + to + " konnte nicht erstellt werden.", e);
+        }
+    }
+
+    private void send(String template, Language lang, String to, Map<String, ?> model) {
+        EmailTemplates.Localized localized = templates.get(template, lang);
+        String subject = localized.subject().render(model);
+        try {
+            mailSender.send(createHtmlMessage(to, subject, localized.body().render(model)));
             log.info("Email sent to {}: {}", to, subject);
-        } catch (MessagingException | MailException e) {
+        } catch (MailException e) {
             log.error("Failed to send email to {}: {}", to, e.getMessage());
             throw new RuntimeException("E-Mail konnte nicht gesendet werden.", e);
-        } catch (java.io.UnsupportedEncodingException e) {
-            log.error("Encoding error for from-name: {}", e.getMessage());
-            throw new RuntimeException("E-Mail konnte nicht gesendet werden.", e);
         }
     }
 }
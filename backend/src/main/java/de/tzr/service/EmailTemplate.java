@@ -0,0 +1,146 @@
+package de.tzr.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled email template. {@code {{name}}} inserts a value HTML-escaped, {@code {{{name}}}}
+ * inserts it as is, and {@code {{#name}}...{{/name}}} repeats its body for each map in a
+ * collection value or renders it once for any other value that is present and not false or
+ * empty. Inside a section, names resolve against the current item first, then outwards.
+ * Templates are parsed once; rendering only appends into a per-thread buffer.
+ */
+final class EmailTemplate {
+
+    private sealed interface Node permits Text, Slot, Section {}
+
+    private record Text(String text) implements Node {}
+
+    private record Slot(String name, boolean escape) implements Node {}
+
+    private record Section(String name, Node[] body) implements Node {}
+
+    private record Scope(Map<?, ?> values, Scope parent) {
+        Object lookup(String name) {
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                Object value = scope.values.get(name);
+                if (value != null) return value;
+            }
+            return null;
+        }
+    }
+
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(16 * 1024));
+
+    private final Node[] nodes;
+
+    private EmailTemplate(Node[] nodes) {
+        this.nodes = nodes;
+    }
+
+    static EmailTemplate compile(String name, String source) {
+        Deque<List<Node>> bodies = new ArrayDeque<>();
+        Deque<String> sections = new ArrayDeque<>();
+        bodies.push(new ArrayList<>());
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                bodies.peek().add(new Text(source.substring(pos)));
+                break;
+            }
+            if (start > pos) bodies.peek().add(new Text(source.substring(pos, start)));
+
+            boolean raw = source.startsWith("{{{", start);
+            String close = raw ? "}}}" : "}}";
+            int end = source.indexOf(close, start);
+            if (end < 0) throw new IllegalStateException("Template " + name + ": unclosed tag at offset " + start);
+            String tag = source.substring(start + close.length(), end).trim();
+            pos = end + close.length();
+
+            if (raw) {
+                bodies.peek().add(new Slot(tag, false));
+            } else if (tag.startsWith("#")) {
+                sections.push(tag.substring(1).trim());
+                bodies.push(new ArrayList<>());
+            } else if (tag.startsWith("/")) {
+                String section = tag.substring(1).trim();
+                if (!section.equals(sections.peek())) {
+                    throw new IllegalStateException("Template " + name + ": unexpected {{/" + section + "}} at offset " + start);
+                }
+                sections.pop();
+                Node[] body = bodies.pop().toArray(Node[]::new);
+                bodies.peek().add(new Section(section, body));
+            } else {
+                bodies.peek().add(new Slot(tag, true));
+            }
+        }
+        if (!sections.isEmpty()) {
+            throw new IllegalStateException("Template " + name + ": section {{#" + sections.peek() + "}} is not closed");
+        }
+        return new EmailTemplate(bodies.pop().toArray(Node[]::new));
+    }
+
+    String render(Map<String, ?> model) {
+        return render(model, Map.of());
+    }
+
+    /** Renders with {@code model}, looking up names missing from it in {@code shared}. */
+    String render(Map<String, ?> model, Map<String, ?> shared) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        render(nodes, new Scope(model, new Scope(shared, null)), out);
+        String result = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) BUFFER.remove();
+        return result;
+    }
+
+    private static void render(Node[] nodes, Scope scope, StringBuilder out) {
+        for (Node node : nodes) {
+            switch (node) {
+                case Text text -> out.append(text.text());
+                case Slot slot -> {
+                    Object value = scope.lookup(slot.name());
+                    if (value == null) continue;
+                    if (slot.escape()) escape(value.toString(), out);
+                    else out.append(value);
+                }
+                case Section section -> {
+                    Object value = scope.lookup(section.name());
+                    if (value instanceof Collection<?> items) {
+                        for (Object item : items) {
+                            render(section.body(), item instanceof Map<?, ?> map ? new Scope(map, scope) : scope, out);
+                        }
+                    } else if (present(value)) {
+                        render(section.body(), scope, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean present(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) return false;
+        return !(value instanceof CharSequence text) || !text.isEmpty();
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.tzr.service;
+
+import de.tzr.model.Language;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads and compiles every email template at startup, per template and language, from
+ * {@code email/<name>.<lang>.html} on the classpath. The first line of a template file is
+ * {@code Subject: ...}; {@code {{>name}}} includes {@code email/_<name>.<lang>.html}.
+ * A missing or malformed template fails startup rather than the first send.
+ */
+@Component
+@Slf4j
+public class EmailTemplates {
+
+    public static final String VERIFICATION = "verification";
+    public static final String WELCOME = "welcome";
+    public static final String DIGEST = "digest";
+
+    private static final List<String> NAMES = List.of(VERIFICATION, WELCOME, DIGEST);
+    private static final Pattern PARTIAL = Pattern.compile("\\{\\{>\\s*([\\w-]+)\\s*}}");
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    record Localized(EmailTemplate subject, EmailTemplate body) {}
+
+    private final Map<String, Map<Language, Localized>> templates = new HashMap<>();
+
+    @PostConstruct
+    void compileAll() {
+        for (String name : NAMES) {
+            Map<Language, Localized> byLanguage = new EnumMap<>(Language.class);
+            for (Language lang : Language.values()) {
+                byLanguage.put(lang, compile(name, lang));
+            }
+            templates.put(name, byLanguage);
+        }
+        log.info("Compiled {} email templates for {} languages", NAMES.size(), Language.values().length);
+    }
+
+    Localized get(String name, Language lang) {
+        Map<Language, Localized> byLanguage = templates.get(name);
+        if (byLanguage == null) throw new IllegalArgumentException("Unknown email template: " + name);
+        return byLanguage.get(lang != null ? lang : Language.DEFAULT);
+    }
+
+    private Localized compile(String name, Language lang) {
+        String id = name + "." + lang.name().toLowerCase();
+        String source = includePartials(load(id), lang);
+        int lineEnd = source.indexOf('\n');
+        if (!source.startsWith(SUBJECT_PREFIX) || lineEnd < 0) {
+            throw new IllegalStateException("Email template " + id + " must start with a '" + SUBJECT_PREFIX + "' line");
+        }
+        String subject = source.substring(SUBJECT_PREFIX.length(), lineEnd).trim();
+        String body = source.substring(lineEnd + 1).stripLeading();
+        return new Localized(EmailTemplate.compile(id + " subject", subject), EmailTemplate.compile(id, body));
+    }
+
+    private String includePartials(String source, Language lang) {
+        Matcher matcher = PARTIAL.matcher(source);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            String partial = load("_" + matcher.group(1) + "." + lang.name().toLowerCase());
+            matcher.appendReplacement(out, Matcher.quoteReplacement(partial.strip()));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private static String load(String id) {
+        try {
+            ClassPathResource resource = new ClassPathResource("email/" + id + ".html");
+            return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Email template not found: email/" + id + ".html", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package de.tzr.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits HTML into chunks at block-element boundaries so each chunk can be translated on its own
+ * and the results concatenated back in order. Wrapper elements such as {@code <article>} or
+ * {@code <div>} are not treated as blocks, so their opening and closing tags end up in the first
+ * and last chunk respectively.
+ */
+public final class HtmlChunker {
+
+    private static final Pattern TAG = Pattern.compile("<(/?)([a-zA-Z][a-zA-Z0-9]*)\\b[^>]*>");
+
+    private static final Set<String> BLOCKS = Set.of(
+        "p", "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "dl",
+        "blockquote", "table", "figure", "pre"
+    );
+
+    private HtmlChunker() {}
+
+    /**
+     * Packs consecutive blocks into chunks of at most {@code maxChars}. A single block longer than
+     * the budget, or plain text without blocks, is cut at sentence ends, failing that at
+     * whitespace, and never inside a tag. Concatenating the result yields the input unchanged.
+     */
+    public static List<String> split(String html, int maxChars) {
+        if (html == null || html.length() <= maxChars) return List.of(html == null ? "" : html);
+
+        List<String> blocks = new ArrayList<>();
+        Matcher m = TAG.matcher(html);
+        int depth = 0;
+        int blockStart = 0;
+        while (m.find()) {
+            if (!BLOCKS.contains(m.group(2).toLowerCase(Locale.ROOT))) continue;
+            if (m.group(1).isEmpty()) {
+                depth++;
+            } else if (depth > 0 && --depth == 0) {
+                blocks.add(html.substring(blockStart, m.end()));
+                blockStart = m.end();
+            }
+        }
+        if (blockStart < html.length()) blocks.add(html.substring(blockStart));
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String block : blocks) {
+            for (String piece : cutOversized(block, maxChars)) {
+                if (!current.isEmpty() && current.length() + piece.length() > maxChars) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                current.append(piece);
+            }
+        }
+        if (!current.isEmpty()) chunks.add(current.toString());
+        return chunks;
+    }
+
+    private static List<String> cutOversized(String block, int maxChars) {
+        if (block.length() <= maxChars) return List.of(block);
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (block.length() - start > maxChars) {
+            int end = cutPoint(block, start, start + maxChars);
+            pieces.add(block.substring(start, end));
+            start = end;
+        }
+        pieces.add(block.substring(start));
+        return pieces;
+    }
+
+    /** Where to end a piece starting at {@code start} that must not reach past {@code limit}. */
+    private static int cutPoint(String text, int start, int limit) {
+        int sentence = -1;
+        int space = -1;
+        for (int i = limit - 1; i > start; i--) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c) || insideTag(text, start, i)) continue;
+            if (space < 0) space = i + 1;
+            char before = text.charAt(i - 1);
+            if (before == '.' || before == '!' || before == '?' || before == '>') {
+                sentence = i + 1;
+                break;
+            }
+        }
+        if (sentence > start) return sentence;
+        if (space > start) return space;
+
+        // one unbroken run: cut before a tag or entity that would otherwise be split
+        int cut = limit;
+        int tagStart = text.lastIndexOf('<', cut - 1);
+        if (tagStart > start && text.lastIndexOf('>', cut - 1) < tagStart) cut = tagStart;
+        int entityStart = text.lastIndexOf('&', cut - 1);
+        if (entityStart > start && cut - entityStart < 10 && text.indexOf(';', entityStart) >= cut) cut = entityStart;
+        return cut;
+    }
+
+    private static boolean insideTag(String text, int start, int index) {
+        int open = text.lastIndexOf('<', index);
+        return open >= start && text.lastIndexOf('>', index) < open;
+    }
+
+    /**
+     * Rough token estimate for German/Portuguese HTML (about three characters per token).
+     */
+    public static int charsForTokens(int tokens) {
+        return tokens * 3;
+    }
+}
@@ -0,0 +1,31 @@
+package de.tzr.service;
+
+import de.tzr.exception.ResourceNotFoundException;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Hands a manually edited translation back to automatic translation, which then replaces it.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ManualTranslationService {
+
+    private final TranslationWriter translationWriter;
+    private final TranslationTaskService translationTaskService;
+    private final TranslationCoalescer translationCoalescer;
+
+    public void release(TranslationTaskEntityType type, Long entityId, Language lang) {
+        if (lang == Language.DEFAULT || !translationWriter.releaseManual(type, entityId, lang)) {
+            throw new ResourceNotFoundException("Translation not found: " + type + " " + entityId + " " + lang);
+        }
+        translationTaskService.createTasksForEntity(type, entityId, List.of(lang));
+        translationCoalescer.request(type, entityId, Language.DEFAULT);
+    }
+}
@@ -0,0 +1,270 @@
+package de.tzr.service;
+
+import de.tzr.dto.NewsletterCampaignDTO;
+import de.tzr.exception.ResourceNotFoundException;
+import de.tzr.mapper.ArticleMapper;
+import de.tzr.model.*;
+import de.tzr.repository.ArticleRepository;
+import de.tzr.repository.NewsletterCampaignRepository;
+import de.tzr.repository.NewsletterDeliveryRepository;
+import de.tzr.repository.NewsletterSubscriberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the monthly digest of newly published articles to all confirmed subscribers. The article
+ * cards are prepared once per language and only the recipient is filled in per mail. Subscribers
+ * are streamed in keyset pages and sent in batches, each batch over one SMTP connection and paced
+ * by a token bucket. Every recipient's outcome is persisted together with the campaign cursor, so
+ * a send interrupted by a crash or an SMTP outage resumes after the last recorded batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NewsletterCampaignService {
+
+    private static final String ALREADY_SENDING = "Es läuft bereits ein Newsletter-Versand.";
+
+    private final NewsletterCampaignRepository campaignRepository;
+    private final NewsletterDeliveryRepository deliveryRepository;
+    private final NewsletterSubscriberRepository subscriberRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor campaignExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${newsletter.campaign.page-size:500}")
+    private int pageSize;
+
+    @Value("${newsletter.campaign.batch-size:50}")
+    private int batchSize;
+
+    @Value("${newsletter.campaign.rate-per-second:5}")
+    private double ratePerSecond;
+
+    private TokenBucket sendRate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        sendRate = new TokenBucket(ratePerSecond, batchSize);
+    }
+
+    /**
+     * Starts a campaign covering the articles published since the previous one, or during the
+     * last month if there was none, up to and including yesterday: articles published today may
+     * still follow, and belong to the next campaign. Sending continues in the background.
+     * Concurrent starts produce the same period, so the unique period end lets only one through.
+     */
+    public NewsletterCampaignDTO start() {
+        if (campaignRepository.existsByStatus(NewsletterCampaignStatus.SENDING)) {
+            throw new IllegalStateException(ALREADY_SENDING);
+        }
+        LocalDate periodEnd = LocalDate.now().minusDays(1);
+        LocalDate periodStart = campaignRepository.findTopByStatusOrderByPeriodEndDesc(NewsletterCampaignStatus.COMPLETED)
+            .map(NewsletterCampaign::getPeriodEnd)
+            .orElse(periodEnd.minusMonths(1));
+        if (articleRepository.findPublishedBetween(ArticleStatus.PUBLISHED, periodStart, periodEnd).isEmpty()) {
+            throw new IllegalStateException("Seit dem letzten Newsletter wurden keine Artikel veröffentlicht.");
+        }
+
+        NewsletterCampaign campaign;
+        try {
+            campaign = campaignRepository.saveAndFlush(NewsletterCampaign.builder()
+                .periodStart(periodStart)
+                .periodEnd(periodEnd)
+                .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(ALREADY_SENDING);
+        }
+        log.info("Starting newsletter campaign {} for articles after {} up to {}", campaign.getId(), periodStart, periodEnd);
+        campaignExecutor.execute(this::resumeInterrupted);
+        return toDTO(campaign);
+    }
+
+    @Scheduled(cron = "${newsletter.campaign.cron:-}")
+    public void startScheduled() {
+        try {
+            start();
+        } catch (IllegalStateException e) {
+            log.info("Scheduled newsletter campaign skipped: {}", e.getMessage());
+        }
+    }
+
+    /** Continues every unfinished campaign; a no-op while a send is already in progress. */
+    @Scheduled(fixedDelayString = "${newsletter.campaign.resume-interval:PT5M}", initialDelayString = "PT1M")
+    public void resumeInterrupted() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            for (NewsletterCampaign campaign : campaignRepository.findByStatusOrderByCreatedAt(NewsletterCampaignStatus.SENDING)) {
+                if (!send(campaign.getId())) break;
+            }
+        } catch (RuntimeException e) {
+            log.error("Newsletter campaign run failed, will resume later", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public NewsletterCampaignDTO resume(Long id) {
+        NewsletterCampaign campaign = campaignRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Newsletter campaign not found: " + id));
+        if (campaign.getStatus() != NewsletterCampaignStatus.SENDING) {
+            throw new IllegalStateException("Der Newsletter-Versand ist bereits abgeschlossen.");
+        }
+        campaignExecutor.execute(this::resumeInterrupted);
+        return toDTO(campaign);
+    }
+
+    public List<NewsletterCampaignDTO> getCampaigns() {
+        return campaignRepository.findAllByOrderByCreatedAtDesc().stream().map(this::toDTO).toList();
+    }
+
+    /** Sends the rest of one campaign. Returns false if the mail server failed and the send was paused. */
+    private boolean send(Long campaignId) {
+        NewsletterCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+        Map<Language, EmailService.Digest> digests = prepareDigests(campaign);
+        long cursor = campaign.getLastSubscriberId();
+
+        while (true) {
+            List<NewsletterSubscriber> page = subscriberRepository
+                .findByConfirmedTrueAndIdGreaterThanOrderById(cursor, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) break;
+            for (int from = 0; from < page.size(); from += batchSize) {
+                List<NewsletterSubscriber> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+                List<NewsletterDelivery> recorded = sendBatch(campaignId, batch, digests);
+                if (!recorded.isEmpty()) {
+                    cursor = recorded.get(recorded.size() - 1).getSubscriberId();
+                    record(campaignId, recorded, cursor);
+                }
+                if (recorded.size() < batch.size()) {
+                    log.warn("Newsletter campaign {} paused after subscriber {}", campaignId, cursor);
+                    return false;
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            NewsletterCampaign done = campaignRepository.findById(campaignId).orElseThrow();
+            done.setStatus(NewsletterCampaignStatus.COMPLETED);
+            done.setCompletedAt(LocalDateTime.now());
+            log.info("Newsletter campaign {} completed: {} sent, {} failed",
+                campaignId, done.getSentCount(), done.getFailedCount());
+        });
+        return true;
+    }
+
+    private Map<Language, EmailService.Digest> prepareDigests(NewsletterCampaign campaign) {
+        return transactionTemplate.execute(status -> {
+            List<Article> articles = articleRepository.findPublishedBetween(
+                ArticleStatus.PUBLISHED, campaign.getPeriodStart(), campaign.getPeriodEnd());
+            Map<Language, EmailService.Digest> digests = new EnumMap<>(Language.class);
+            for (Language lang : Language.values()) {
+                digests.put(lang, emailService.prepareDigest(lang,
+                    articles.stream().map(a -> articleMapper.toListDTO(a, lang)).toList()));
+            }
+            return digests;
+        });
+    }
+
+    /**
+     * Sends one batch and returns the deliveries to record, in subscriber order. Rejected
+     * recipients are recorded as failed; if the connection itself fails, only the prefix of the
+     * batch before the failure is returned and the rest is left for the next run.
+     */
+    private List<NewsletterDelivery> sendBatch(Long campaignId, List<NewsletterSubscriber> batch,
+                                               Map<Language, EmailService.Digest> digests) {
+        List<NewsletterDelivery> deliveries = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        Map<MimeMessage, NewsletterDelivery> byMessage = new IdentityHashMap<>();
+
+        for (NewsletterSubscriber subscriber : batch) {
+            Language lang = subscriber.getLanguage() != null ? subscriber.getLanguage() : Language.DEFAULT;
+            NewsletterDelivery delivery = NewsletterDelivery.builder()
+                .campaignId(campaignId)
+                .subscriberId(subscriber.getId())
+                .email(subscriber.getEmail())
+                .language(lang)
+                .status(NewsletterDeliveryStatus.SENT)
+                .attemptedAt(LocalDateTime.now())
+                .build();
+            deliveries.add(delivery);
+            try {
+                MimeMessage message = emailService.createDigestMessage(digests.get(lang), subscriber);
+                messages.add(message);
+                byMessage.put(message, delivery);
+            } catch (MailException e) {
+                fail(delivery, e);
+            }
+        }
+
+        for (MimeMessage ignored : messages) {
+            if (!sendRate.tryAcquire(Duration.ofHours(1))) return List.of();
+        }
+
+        Map<Object, Exception> failures;
+        try {
+            failures = emailService.sendBatch(messages.toArray(MimeMessage[]::new));
+        } catch (MailException e) {
+            log.warn("Newsletter campaign {}: mail server unavailable: {}", campaignId, e.getMessage());
+            return List.of();
+        }
+
+        for (Map.Entry<Object, Exception> failure : failures.entrySet()) {
+            NewsletterDelivery delivery = byMessage.get(failure.getKey());
+            if (delivery == null) continue;
+            if (!(failure.getValue() instanceof SendFailedException)) {
+                log.warn("Newsletter campaign {}: connection lost at {}: {}",
+                    campaignId, delivery.getEmail(), failure.getValue().getMessage());
+                return deliveries.subList(0, deliveries.indexOf(delivery));
+            }
+            fail(delivery, failure.getValue());
+        }
+        return deliveries;
+    }
+
+    private void record(Long campaignId, List<NewsletterDelivery> deliveries, long cursor) {
+        int failed = (int) deliveries.stream().filter(d -> d.getStatus() == NewsletterDeliveryStatus.FAILED).count();
+        int sent = deliveries.size() - failed;
+        transactionTemplate.executeWithoutResult(status -> {
+            deliveryRepository.saveAll(deliveries);
+            NewsletterCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+            campaign.setLastSubscriberId(cursor);
+            campaign.setSentCount(campaign.getSentCount() + sent);
+            campaign.setFailedCount(campaign.getFailedCount() + failed);
+        });
+        meterRegistry.counter("newsletter.campaign.deliveries", "outcome", "sent").increment(sent);
+        meterRegistry.counter("newsletter.campaign.deliveries", "outcome", "failed").increment(failed);
+    }
+
+    private static void fail(NewsletterDelivery delivery, Exception e) {
+        delivery.setStatus(NewsletterDeliveryStatus.FAILED);
+        String message = String.valueOf(e.getMessage());
+        delivery.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+    }
+
+    private NewsletterCampaignDTO toDTO(NewsletterCampaign c) {
+        return new NewsletterCampaignDTO(c.getId(), c.getStatus().name(), c.getPeriodStart(), c.getPeriodEnd(),
+            c.getSentCount(), c.getFailedCount(), c.getCreatedAt(), c.getCompletedAt());
+    }
+}
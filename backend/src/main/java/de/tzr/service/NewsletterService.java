@@ -1,22 +1,47 @@
 package de.tzr.service;
 
+import de.tzr.model.EmailKind;
+import de.tzr.model.Language;
 import de.tzr.model.NewsletterSubscriber;
 import de.tzr.repository.NewsletterSubscriberRepository;
+import de.tzr.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NewsletterService {
 
     private final NewsletterSubscriberRepository subscriberRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final UnsubscribeTokens unsubscribeTokens;
 
-    public String subscribe(String email) {
+    @Value("${newsletter.cleanup.grace-period:P7D}")
+    private Duration cleanupGracePeriod;
+
+    @Value("${newsletter.cleanup.chunk-size:500}")
+    private int cleanupChunkSize;
+
+    @Value("${newsletter.cleanup.max-chunks:20}")
+    private int cleanupMaxChunks;
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SUBSCRIBER_COUNT, allEntries = true)
+    public String subscribe(String email, Language language) {
         Optional<NewsletterSubscriber> existing = subscriberRepository.findByEmail(email);
 
         if (existing.isPresent()) {
@@ -26,10 +51,11 @@ public class NewsletterService {
             }
             // Resend verification for unconfirmed subscriber
             String token = generateToken();
+            subscriber.setLanguage(language);
             subscriber.setConfirmationToken(token);
             subscriber.setTokenExpiresAt(LocalDateTime.now().plusHours(24));
             subscriberRepository.save(subscriber);
-            emailService.sendVerificationEmail(email, token);
+            emailOutboxService.enqueue(EmailKind.VERIFICATION, email, token, language);
             return "Bitte überprüfen Sie Ihr Postfach und bestätigen Sie Ihre Anmeldung.";
         }
 
@@ -37,14 +63,16 @@ public class NewsletterService {
         String token = generateToken();
         NewsletterSubscriber subscriber = NewsletterSubscriber.builder()
                 .email(email)
+                .language(language)
                 .confirmationToken(token)
                 .tokenExpiresAt(LocalDateTime.now().plusHours(24))
                 .build();
         subscriberRepository.save(subscriber);
-        emailService.sendVerificationEmail(email, token);
+        emailOutboxService.enqueue(EmailKind.VERIFICATION, email, token, language);
         return "Bitte überprüfen Sie Ihr Postfach und bestätigen Sie Ihre Anmeldung.";
     }
 
+    @Transactional
     public String confirmSubscription(String token) {
         NewsletterSubscriber subscriber = subscriberRepository.findByConfirmationToken(token)
                 .orElseThrow(() -> new IllegalArgumentException("Ungültiger Bestätigungslink."));
@@ -58,14 +86,51 @@ public class NewsletterService {
         subscriber.setTokenExpiresAt(null);
         subscriberRepository.save(subscriber);
 
-        emailService.sendWelcomeEmail(subscriber.getEmail());
+        emailOutboxService.enqueue(EmailKind.WELCOME, subscriber.getEmail(), null, subscriber.getLanguage());
         return "Ihre Anmeldung wurde erfolgreich bestätigt!";
     }
 
+    /**
+     * Removes the subscriber if the token matches. A subscriber who is already gone counts as
+     * unsubscribed, so a repeated click or a mail client's one-click POST still succeeds.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SUBSCRIBER_COUNT, allEntries = true)
+    public void unsubscribe(Long subscriberId, String token) {
+        Optional<NewsletterSubscriber> subscriber = subscriberRepository.findById(subscriberId);
+        if (subscriber.isEmpty()) return;
+        if (!unsubscribeTokens.matches(subscriberId, subscriber.get().getEmail(), token)) {
+            throw new IllegalArgumentException("Ungültiger Abmeldelink.");
+        }
+        subscriberRepository.delete(subscriber.get());
+        log.info("Newsletter subscriber {} unsubscribed", subscriberId);
+    }
+
+    @Cacheable(CacheConfig.SUBSCRIBER_COUNT)
     public long getCount() {
         return subscriberRepository.count();
     }
 
+    /**
+     * Deletes subscribers who never confirmed and whose link expired more than the grace period
+     * ago. Works in chunks, each in its own short transaction, and stops after a bounded number
+     * of chunks so a large backlog is worked off over several runs.
+     */
+    @Scheduled(cron = "${newsletter.cleanup.cron:0 30 3 * * *}")
+    @CacheEvict(cacheNames = CacheConfig.SUBSCRIBER_COUNT, allEntries = true)
+    public int purgeExpiredSubscribers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(cleanupGracePeriod);
+        int deleted = 0;
+        for (int chunk = 0; chunk < cleanupMaxChunks; chunk++) {
+            List<Long> ids = subscriberRepository.findExpiredUnconfirmedIds(cutoff, PageRequest.of(0, cleanupChunkSize));
+            if (ids.isEmpty()) break;
+            deleted += subscriberRepository.deleteExpiredUnconfirmed(ids, cutoff);
+            if (ids.size() < cleanupChunkSize) break;
+        }
+        if (deleted > 0) log.info("Deleted {} unconfirmed newsletter subscribers with links expired before {}", deleted, cutoff);
+        return deleted;
+    }
+
     private String generateToken() {
         return UUID.randomUUID().toString();
     }
@@ -0,0 +1,108 @@
+package de.tzr.service;
+
+import de.tzr.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on {@code passwordHashExecutor}. The calling request thread only waits; when the
+ * pool's queue is full the call fails at once with {@link ServiceBusyException} (503) instead
+ * of adding to the backlog.
+ */
+@Service
+@Slf4j
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Timer hashTime;
+
+    /** Hash of a random password at the current cost, made on first use. */
+    private volatile String dummyHash;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder, ThreadPoolTaskExecutor passwordHashExecutor,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+            .description("Time password checks wait for a hashing thread")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.hashTime = Timer.builder("auth.password.hash")
+            .description("Time spent computing BCrypt hashes")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        meterRegistry.gauge("auth.password.queue", passwordHashExecutor,
+            executor -> executor.getThreadPoolExecutor().getQueue().size());
+    }
+
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> passwordEncoder.matches(rawPassword, hash));
+    }
+
+    /**
+     * Checks the password against a hash no one knows the password of, so a login for an unknown
+     * username costs as much as one with a wrong password and does not reveal which names exist.
+     */
+    public void matchesNone(String rawPassword) {
+        run(() -> passwordEncoder.matches(rawPassword, dummyHash()));
+    }
+
+    /** A new hash at the current cost if {@code hash} was made with a lower one, so logins upgrade old hashes. */
+    public Optional<String> upgradedHash(String rawPassword, String hash) {
+        if (!passwordEncoder.upgradeEncoding(hash)) return Optional.empty();
+        return Optional.of(run(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) dummyHash = hash = passwordEncoder.encode(UUID.randomUUID().toString());
+        return hash;
+    }
+
+    private <T> T run(Supplier<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.get();
+                } finally {
+                    hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("auth.password.rejected").increment();
+            log.warn("Password check rejected, hashing queue is full");
+            throw new ServiceBusyException("Zu viele Anmeldeversuche. Bitte versuchen Sie es gleich erneut.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceBusyException("Anmeldung abgebrochen.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
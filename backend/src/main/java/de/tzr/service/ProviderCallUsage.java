@@ -0,0 +1,49 @@
+package de.tzr.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Usage a provider reports during one routed call: tokens, billed characters and internal
+ * retries. Bound to the calling thread by {@link TranslationRouter}; work a provider hands to
+ * other threads carries it along via {@link #propagate(Supplier)}.
+ */
+final class ProviderCallUsage {
+
+    private static final ThreadLocal<ProviderCallUsage> CURRENT = new ThreadLocal<>();
+
+    final AtomicLong inputTokens = new AtomicLong();
+    final AtomicLong outputTokens = new AtomicLong();
+    final AtomicLong billedChars = new AtomicLong();
+    final AtomicLong retries = new AtomicLong();
+
+    static ProviderCallUsage open() {
+        ProviderCallUsage usage = new ProviderCallUsage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /** The usage of the call in progress on this thread, or null outside a routed call. */
+    static ProviderCallUsage current() {
+        return CURRENT.get();
+    }
+
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        ProviderCallUsage usage = CURRENT.get();
+        if (usage == null) return task;
+        return () -> {
+            ProviderCallUsage previous = CURRENT.get();
+            CURRENT.set(usage);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) CURRENT.set(previous);
+                else CURRENT.remove();
+            }
+        };
+    }
+}
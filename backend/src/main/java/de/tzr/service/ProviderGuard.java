@@ -0,0 +1,156 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Rate limiter plus circuit breaker for one translation provider.
+ * <p>
+ * The breaker opens after {@code failureThreshold} consecutive failures, or at once when the
+ * provider throttles us, in which case it stays open for the server's {@code Retry-After}.
+ * Once the open period has elapsed a single probe request is let through (half-open).
+ */
+public class ProviderGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String provider;
+    private final TokenBucket bucket;
+    private final Duration maxWait;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Counter circuitOpenRejections;
+    private final Counter rateLimitedRejections;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean probeInFlight;
+
+    public ProviderGuard(String provider, TranslationProperties.Limits limits, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.bucket = new TokenBucket(limits.getRequestsPerSecond(), limits.getBurst());
+        this.maxWait = limits.getMaxWait();
+        this.failureThreshold = limits.getFailureThreshold();
+        this.openDuration = limits.getOpenDuration();
+        this.circuitOpenRejections = Counter.builder("translation.provider.rejected")
+            .tag("provider", provider).tag("reason", "circuit_open").register(meterRegistry);
+        this.rateLimitedRejections = Counter.builder("translation.provider.rejected")
+            .tag("provider", provider).tag("reason", "rate_limited").register(meterRegistry);
+        Gauge.builder("translation.provider.circuit.state", this, g -> g.getState().ordinal())
+            .description("0 = closed, 1 = open, 2 = half-open")
+            .tag("provider", provider)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reserves permission for one call. Returns false without waiting when the circuit is open,
+     * or after at most {@code maxWait} when the rate limit has no token left.
+     */
+    public boolean tryAcquire() {
+        if (!admit()) {
+            circuitOpenRejections.increment();
+            return false;
+        }
+        if (!bucket.tryAcquire(maxWait)) {
+            releaseProbe();
+            rateLimitedRejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * True if a call would currently be admitted by the breaker (ignores the rate limit).
+     */
+    public synchronized boolean isAvailable() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openUntilNanos >= 0;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open(openDuration);
+        }
+    }
+
+    /**
+     * The provider told us to back off (429, quota exhausted, overloaded). Opens the breaker for
+     * {@code retryAfter} if the server sent one, otherwise for {@code fallback}.
+     */
+    public synchronized void onThrottled(Duration retryAfter, Duration fallback) {
+        open(retryAfter != null ? retryAfter : fallback);
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    private synchronized boolean admit() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntilNanos < 0) return false;
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) return false;
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private void open(Duration duration) {
+        state = State.OPEN;
+        openUntilNanos = System.nanoTime() + duration.toNanos();
+        probeInFlight = false;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either as delta-seconds or as an HTTP date.
+     */
+    public static Duration parseRetryAfter(HttpHeaders headers) {
+        if (headers == null) return null;
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {}
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.tzr.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window limiter: at most {@code limit} requests per key within any {@code window}.
+ * Each key keeps the counts of its current and previous fixed window, the previous one
+ * weighted by how much of it the sliding window still overlaps, which approximates an exact
+ * request log in constant memory. Keys are spread over lock stripes so unrelated clients
+ * never contend on the same lock.
+ */
+public class SlidingWindowRateLimiter {
+
+    public record Decision(boolean allowed, long retryAfterSeconds) {}
+
+    private static final Decision ALLOWED = new Decision(true, 0);
+    private static final int STRIPES = 64;
+
+    private static final class Window {
+        long start;
+        int previous;
+        int current;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final HashMap<String, Window> windows = new HashMap<>();
+    }
+
+    private final int limit;
+    private final long windowNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public SlidingWindowRateLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRateLimiter(int limit, Duration window, int maxKeys, LongSupplier nanoClock) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+        if (window.isZero() || window.isNegative()) throw new IllegalArgumentException("window must be positive");
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /** Counts a request for {@code key} if it is within the limit. */
+    public Decision tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = nanoClock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                if (stripe.windows.size() >= maxKeysPerStripe) evictIdle(stripe, now);
+                window = new Window();
+                window.start = now;
+                stripe.windows.put(key, window);
+            }
+            roll(window, now);
+            long elapsed = now - window.start;
+            double estimate = window.previous * (1 - (double) elapsed / windowNanos) + window.current;
+            if (estimate + 1 <= limit) {
+                window.current++;
+                return ALLOWED;
+            }
+            return new Decision(false, retryAfterSeconds(window, elapsed));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** Drops keys without requests in the last two windows. Returns how many were dropped. */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                evicted += evictIdle(stripe, now);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    /** Approximate number of tracked keys; stripes are read without locking. */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.windows.size();
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private int evictIdle(Stripe stripe, long now) {
+        int before = stripe.windows.size();
+        stripe.windows.values().removeIf(w -> now - w.start >= 2 * windowNanos);
+        return before - stripe.windows.size();
+    }
+
+    private void roll(Window window, long now) {
+        long windows = (now - window.start) / windowNanos;
+        if (windows == 0) return;
+        window.previous = windows == 1 ? window.current : 0;
+        window.current = 0;
+        window.start += windows * windowNanos;
+    }
+
+    /** Time until the weighted count leaves room for one more request. */
+    private long retryAfterSeconds(Window window, long elapsed) {
+        double waitNanos;
+        if (window.current + 1 <= limit) {
+            // the previous window's share has to fade out further within this window
+            double fraction = 1 - (double) (limit - 1 - window.current) / window.previous;
+            waitNanos = fraction * windowNanos - elapsed;
+        } else {
+            // this window is full on its own: wait for it to become the previous one and fade
+            double fraction = 1 - (double) (limit - 1) / window.current;
+            waitNanos = (windowNanos - elapsed) + fraction * windowNanos;
+        }
+        return Math.max(1, (long) Math.ceil(waitNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
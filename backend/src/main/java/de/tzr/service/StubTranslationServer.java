@@ -0,0 +1,155 @@
+package de.tzr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.tzr.config.TranslationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded fake DeepL and Claude endpoints for {@code translation.mode=stub}, so the pipeline can
+ * run and be benchmarked without network access or API credits. On startup it points both
+ * providers at itself. "Translations" are the source text prefixed with the target language,
+ * which keeps markup intact. Latency, errors, 429s and Claude truncation follow
+ * {@code translation.stub.*}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "translation", name = "mode", havingValue = "stub")
+@RequiredArgsConstructor
+@Slf4j
+public class StubTranslationServer {
+
+    private static final Pattern CLAUDE_TARGET = Pattern.compile(" to (\\w+)\\. ");
+    private static final double Z_99 = 2.326;
+
+    private final TranslationProperties props;
+    private final ObjectMapper objectMapper;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/deepl/v2/translate", this::handleDeepL);
+        server.createContext("/claude/v1/messages", this::handleClaude);
+        server.start();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        props.getDeepl().setApiUrl(base + "/deepl/v2/translate");
+        props.getDeepl().setApiKey("stub");
+        props.getClaude().setApiUrl(base + "/claude/v1/messages");
+        props.getClaude().setApiKey("stub");
+        log.warn("Translation stub mode: DeepL and Claude are served by a fake server at {}", base);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private void handleDeepL(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String text = form.getOrDefault("text", "");
+            TranslationProperties.StubProvider stub = props.getStub().getDeepl();
+            if (misbehave(exchange, stub, text.length())) return;
+
+            String translated = "[" + form.getOrDefault("target_lang", "?") + "] " + text;
+            respond(exchange, 200, Map.of("translations",
+                List.of(Map.of("detected_source_language", form.getOrDefault("source_lang", "DE"), "text", translated))));
+        }
+    }
+
+    private void handleClaude(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String text = request.path("messages").path(0).path("content").asText();
+            TranslationProperties.StubProvider stub = props.getStub().getClaude();
+            if (misbehave(exchange, stub, text.length())) return;
+
+            Matcher target = CLAUDE_TARGET.matcher(request.path("system").asText());
+            String translated = "[" + (target.find() ? target.group(1) : "?") + "] " + text;
+            boolean truncated = ThreadLocalRandom.current().nextDouble() < stub.getTruncationRate();
+            if (truncated) translated = translated.substring(0, translated.length() / 2);
+
+            respond(exchange, 200, Map.of(
+                "content", List.of(Map.of("type", "text", "text", translated)),
+                "stop_reason", truncated ? "max_tokens" : "end_turn",
+                "usage", Map.of("input_tokens", text.length() / 3, "output_tokens", translated.length() / 3)));
+        }
+    }
+
+    /** Sleeps for the sampled latency, then answers with an error or a 429 if the dice say so. */
+    private boolean misbehave(HttpExchange exchange, TranslationProperties.StubProvider stub, int chars) throws IOException {
+        sleep(sampleLatencyMs(stub, chars));
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < stub.getThrottleRate()) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            respond(exchange, 429, Map.of("error", "stub throttled"));
+            return true;
+        }
+        if (roll < stub.getThrottleRate() + stub.getErrorRate()) {
+            respond(exchange, 500, Map.of("error", "stub failure"));
+            return true;
+        }
+        return false;
+    }
+
+    private static long sampleLatencyMs(TranslationProperties.StubProvider stub, int chars) {
+        double median = Math.max(1, stub.getLatencyMedian().toMillis());
+        double p99 = Math.max(median, stub.getLatencyP99().toMillis());
+        double sigma = Math.log(p99 / median) / Z_99;
+        double latency = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Math.round(latency + stub.getLatencyPerThousandChars().toMillis() * chars / 1000.0);
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new LinkedHashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
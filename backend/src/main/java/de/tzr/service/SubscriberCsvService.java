@@ -0,0 +1,261 @@
+package de.tzr.service;
+
+import de.tzr.config.CacheConfig;
+import de.tzr.dto.SubscriberImportResultDTO;
+import de.tzr.model.Language;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk CSV import and export of newsletter subscribers, streamed in both directions. Imports
+ * are validated line by line and inserted in JDBC batches, skipping addresses that already
+ * exist; exports read through a database cursor. Neither holds the list in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriberCsvService {
+
+    static final String HEADER = "email,language,confirmed,subscribed_at";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    /** No separators either, so every accepted address survives an export and re-import. */
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s,;]+@[^@\\s,;]+\\.[^@\\s,;]+");
+    /** Leading characters that make spreadsheet applications evaluate a cell as a formula. */
+    private static final String FORMULA_START = "=+-@";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO newsletter_subscribers (email, confirmed, language, subscribed_at) " +
+        "SELECT CAST(? AS VARCHAR(255)), TRUE, CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM newsletter_subscribers WHERE email = ?)";
+    private static final String EXPORT_SQL =
+        "SELECT email, language, confirmed, subscribed_at FROM newsletter_subscribers ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private record Row(String email, Language language, LocalDateTime subscribedAt) {}
+
+    /**
+     * Imports {@code email[,language[,confirmed[,subscribed_at]]]} lines; a header line is
+     * optional. Rows are imported as confirmed, since they come from a list that already had
+     * consent, and no verification mail is sent. Rows marked unconfirmed are rejected: without a
+     * confirmation link they could never be confirmed, nor purged as expired signups.
+     */
+    @CacheEvict(cacheNames = CacheConfig.SUBSCRIBER_COUNT, allEntries = true)
+    public SubscriberImportResultDTO importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+        Set<String> batchEmails = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        int total = 0, invalid = 0, imported = 0;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') line = line.substring(1);
+            if (line.isBlank()) continue;
+            List<String> fields = parseLine(line);
+            if (lineNumber == 1 && fields.get(0).trim().equalsIgnoreCase("email")) continue;
+
+            total++;
+            try {
+                Row row = toRow(fields);
+                if (!batchEmails.add(row.email())) continue;
+                batch.add(row);
+            } catch (IllegalArgumentException e) {
+                invalid++;
+                if (errors.size() < MAX_REPORTED_ERRORS) errors.add("Zeile " + lineNumber + ": " + e.getMessage());
+                continue;
+            }
+            if (batch.size() == BATCH_SIZE) {
+                imported += insert(batch);
+                batch.clear();
+                batchEmails.clear();
+            }
+        }
+        if (!batch.isEmpty()) imported += insert(batch);
+
+        int duplicates = total - invalid - imported;
+        log.info("Subscriber import: {} rows, {} imported, {} duplicates, {} invalid", total, imported, duplicates, invalid);
+        return new SubscriberImportResultDTO(total, imported, duplicates, invalid, errors);
+    }
+
+    /** Writes all subscribers as CSV, reading them through a cursor of {@value #FETCH_SIZE} rows. */
+    public void exportCsv(OutputStream output) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        JdbcTemplate cursor = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        cursor.setFetchSize(FETCH_SIZE);
+
+        // PostgreSQL only streams with a fetch size inside a transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(HEADER);
+                writer.write('\n');
+                cursor.query(EXPORT_SQL, rs -> {
+                    try {
+                        Timestamp subscribedAt = rs.getTimestamp("subscribed_at");
+                        writer.write(escape(neutralizeFormula(rs.getString("email"))));
+                        writer.write(',');
+                        writer.write(Objects.toString(rs.getString("language"), ""));
+                        writer.write(',');
+                        writer.write(String.valueOf(rs.getBoolean("confirmed")));
+                        writer.write(',');
+                        if (subscribedAt != null) writer.write(subscribedAt.toLocalDateTime().toString());
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Inserts one batch. If a concurrent signup takes one of its addresses between the existence
+     * check and the insert, the batch fails on the unique key and is retried row by row, so only
+     * that address is skipped.
+     */
+    private int insert(List<Row> rows) {
+        int[][] counts;
+        try {
+            counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(),
+                SubscriberCsvService::bind));
+        } catch (DuplicateKeyException e) {
+            log.info("Subscriber import batch hit a concurrent signup, retrying {} rows one by one", rows.size());
+            return insertOneByOne(rows);
+        }
+        int inserted = 0;
+        for (int[] batch : Objects.requireNonNull(counts)) {
+            for (int count : batch) if (count > 0) inserted += count;
+        }
+        return inserted;
+    }
+
+    private int insertOneByOne(List<Row> rows) {
+        int inserted = 0;
+        for (Row row : rows) {
+            try {
+                inserted += jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row));
+            } catch (DuplicateKeyException e) {
+                // signed up in the meantime: counted as a duplicate
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, Row row) throws SQLException {
+        ps.setString(1, row.email());
+        ps.setString(2, row.language().name());
+        ps.setTimestamp(3, Timestamp.valueOf(row.subscribedAt()));
+        ps.setString(4, row.email());
+    }
+
+    private static Row toRow(List<String> fields) {
+        String email = restoreFormula(field(fields, 0));
+        if (email.isEmpty()) throw new IllegalArgumentException("E-Mail-Adresse fehlt");
+        if (email.length() > 255 || !EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("Ungültige E-Mail-Adresse '" + email + "'");
+        }
+
+        String lang = field(fields, 1);
+        Language language;
+        try {
+            language = lang.isEmpty() ? Language.DEFAULT : Language.valueOf(lang.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekannte Sprache '" + lang + "'");
+        }
+
+        String confirmed = field(fields, 2).toLowerCase();
+        if (!confirmed.isEmpty() && !Set.of("true", "false", "1", "0").contains(confirmed)) {
+            throw new IllegalArgumentException("Ungültiger Wert für confirmed '" + confirmed + "'");
+        }
+        if (confirmed.equals("false") || confirmed.equals("0")) {
+            throw new IllegalArgumentException("Unbestätigte Abonnenten können nicht importiert werden");
+        }
+
+        String date = field(fields, 3);
+        LocalDateTime subscribedAt;
+        try {
+            subscribedAt = date.isEmpty() ? LocalDateTime.now()
+                : date.length() == 10 ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiges Datum '" + date + "'");
+        }
+
+        return new Row(email, language, subscribedAt);
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields with {@code ""} escapes. */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',' || c == ';') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String escape(String value) {
+        boolean plain = value.chars().noneMatch(c -> c == ',' || c == ';' || c == '"' || c == '\n' || c == '\r');
+        return plain ? value : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Prefixes a value that a spreadsheet would run as a formula with {@code '}; the import
+     * strips the prefix again with {@link #restoreFormula(String)}.
+     */
+    static String neutralizeFormula(String value) {
+        return !value.isEmpty() && FORMULA_START.indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    static String restoreFormula(String value) {
+        return value.length() > 1 && value.charAt(0) == '\'' && FORMULA_START.indexOf(value.charAt(1)) >= 0
+            ? value.substring(1) : value;
+    }
+}
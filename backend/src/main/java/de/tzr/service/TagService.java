@@ -1,5 +1,6 @@
 package de.tzr.service;
 
+import de.tzr.config.CacheConfig;
 import de.tzr.dto.TagDTO;
 import de.tzr.dto.TagTranslationDTO;
 import de.tzr.exception.ResourceNotFoundException;
@@ -8,6 +9,7 @@ import de.tzr.model.*;
 import de.tzr.repository.TagRepository;
 import de.tzr.repository.TagTranslationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +23,7 @@ public class TagService {
     private final TagRepository tagRepository;
     private final TagTranslationRepository tagTranslationRepository;
     private final TranslationTaskService translationTaskService;
-    private final AutoTranslationService autoTranslationService;
+    private final TranslationCoalescer translationCoalescer;
 
     @Transactional(readOnly = true)
     public List<TagDTO> getAll() {
@@ -36,6 +38,7 @@ public class TagService {
             .toList();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public TagDTO create(String name) {
         String slug = SlugUtil.slugify(name);
         if (tagRepository.existsBySlug(slug)) {
@@ -44,10 +47,11 @@ public class TagService {
         Tag tag = Tag.builder().name(name).slug(slug).build();
         tag = tagRepository.save(tag);
         translationTaskService.createTasksForEntity(TranslationTaskEntityType.TAG, tag.getId());
-        autoTranslationService.translateTag(tag.getId(), Language.DEFAULT);
+        translationCoalescer.request(TranslationTaskEntityType.TAG, tag.getId(), Language.DEFAULT);
         return new TagDTO(tag.getId(), tag.getName(), tag.getSlug(), 0, null);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public TagDTO update(Long id, String name) {
         Tag tag = tagRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tag not found: " + id));
@@ -62,6 +66,7 @@ public class TagService {
             tag.getArticles() != null ? tag.getArticles().size() : 0, null);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
     public void delete(Long id) {
         Tag tag = tagRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tag not found: " + id));
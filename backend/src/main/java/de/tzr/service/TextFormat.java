@@ -0,0 +1,5 @@
+package de.tzr.service;
+
+public enum TextFormat {
+    PLAIN, HTML
+}
@@ -0,0 +1,95 @@
+package de.tzr.service;
+
+import de.tzr.model.RevokedToken;
+import de.tzr.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, persisted in {@code revoked_tokens} and mirrored in a hash set so the auth
+ * filter checks revocation without a query. Each instance pulls rows revoked elsewhere every
+ * sync interval, so a revocation takes effect on other instances within that delay. Entries
+ * are dropped, in memory and in the table, once the token would have expired anyway.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    /** Re-reads a margin before the last sync to cover clock skew and slow commits on other instances. */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /** jti to expiry in epoch millis. */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    void load() {
+        sync();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes the token the claims belong to. Returns true only for the call that recorded the
+     * revocation: false if the token was already revoked, here or concurrently on any instance
+     * (the unique {@code jti} decides), or has no id or is already expired.
+     */
+    public boolean revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null) return false;
+        long expiresAt = claims.getExpiration().getTime();
+        if (expiresAt <= System.currentTimeMillis() || revoked.putIfAbsent(jti, expiresAt) != null) return false;
+
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // revoked concurrently by another instance
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT30S}", initialDelayString = "${jwt.revocation.sync-interval:PT30S}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = lastSync == null
+            ? revokedTokenRepository.findByExpiresAtAfter(now)
+            : revokedTokenRepository.findActiveRevokedSince(lastSync.minus(SYNC_OVERLAP), now);
+        for (RevokedToken token : tokens) {
+            revoked.putIfAbsent(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        lastSync = now;
+
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+    }
+
+    @Scheduled(cron = "${jwt.revocation.cleanup-cron:0 45 3 * * *}")
+    public int purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.info("Deleted {} expired revoked tokens", deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,286 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import de.tzr.dto.TranslationBatchDTO;
+import de.tzr.model.*;
+import de.tzr.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk re-translation through the Claude Message Batches API.
+ * <p>
+ * Pending tasks are first claimed by moving them to IN_PROGRESS with a conditional update, so
+ * concurrent starts never submit the same task twice. The claimed tasks are turned into batch
+ * requests (long bodies split into chunks) and the batch id is persisted; tasks whose batch
+ * could not be submitted go back to PENDING. A scheduled poller picks up every IN_PROGRESS batch
+ * from the database, so polling resumes after a restart. Ended batches are stitched back per
+ * entity and language and written through {@link TranslationWriter}.
+ * <p>
+ * Request custom ids have the form {@code TYPE-entityId-LANG-field-chunk-chunkCount}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TranslationBackfillService {
+
+    /** Task ids per claiming UPDATE, keeping the IN list well below driver parameter limits. */
+    private static final int CLAIM_PAGE_SIZE = 1000;
+
+    private final TranslationProperties props;
+    private final ClaudeBatchClient batchClient;
+    private final TranslationBatchRepository batchRepository;
+    private final TranslationTaskRepository taskRepository;
+    private final TranslationTaskService translationTaskService;
+    private final TranslationSourceLoader sourceLoader;
+    private final TranslationWriter translationWriter;
+    private final TranslationUsageMeter usageMeter;
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+
+    private record TaskKey(TranslationTaskEntityType type, Long entityId, Language targetLang) {}
+
+    private record TaskRequests(TranslationTask task, List<ClaudeBatchClient.BatchRequest> requests) {}
+
+    private record ChunkId(TaskKey task, String field, int index, int count) {
+        String format() {
+            return task.type() + "-" + task.entityId() + "-" + task.targetLang() + "-" + field + "-" + index + "-" + count;
+        }
+
+        static ChunkId parse(String customId) {
+            String[] parts = customId.split("-");
+            if (parts.length != 6) return null;
+            try {
+                TaskKey task = new TaskKey(TranslationTaskEntityType.valueOf(parts[0]), Long.valueOf(parts[1]),
+                    Language.valueOf(parts[2]));
+                return new ChunkId(task, parts[3], Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    public List<TranslationBatchDTO> start(boolean requeueAll) {
+        if (!props.isClaudeConfigured()) {
+            throw new IllegalStateException("Claude API key not configured");
+        }
+        if (requeueAll) requeueAll();
+
+        List<TranslationTask> claimed = claimPending();
+        if (claimed.isEmpty()) return List.of();
+
+        int maxRequests = props.getClaude().getBatchMaxRequests();
+        Set<Long> unsubmitted = claimed.stream().map(TranslationTask::getId).collect(Collectors.toCollection(HashSet::new));
+        try {
+            List<TranslationBatchDTO> submitted = new ArrayList<>();
+            List<TranslationTask> tasks = new ArrayList<>();
+            List<ClaudeBatchClient.BatchRequest> requests = new ArrayList<>();
+            for (TaskRequests entry : buildRequests(claimed, unsubmitted)) {
+                if (!requests.isEmpty() && requests.size() + entry.requests().size() > maxRequests) {
+                    submitted.add(submit(tasks, requests, unsubmitted));
+                    tasks = new ArrayList<>();
+                    requests = new ArrayList<>();
+                }
+                tasks.add(entry.task());
+                requests.addAll(entry.requests());
+            }
+            if (!requests.isEmpty()) submitted.add(submit(tasks, requests, unsubmitted));
+            return submitted;
+        } finally {
+            if (!unsubmitted.isEmpty()) {
+                taskRepository.transition(unsubmitted, TranslationTaskStatus.IN_PROGRESS,
+                    TranslationTaskStatus.PENDING, LocalDateTime.now());
+            }
+        }
+    }
+
+    /**
+     * Claims every PENDING task that no concurrent start has claimed first: one bulk UPDATE per
+     * page of ids, stamped with this claim's time, then reads back the tasks carrying the stamp.
+     */
+    private List<TranslationTask> claimPending() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> pending = taskRepository.findIdsByStatus(TranslationTaskStatus.PENDING);
+        List<TranslationTask> claimed = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += CLAIM_PAGE_SIZE) {
+            List<Long> page = pending.subList(from, Math.min(from + CLAIM_PAGE_SIZE, pending.size()));
+            if (taskRepository.transition(page, TranslationTaskStatus.PENDING, TranslationTaskStatus.IN_PROGRESS, now) > 0) {
+                claimed.addAll(taskRepository.findByIdInAndStatusAndUpdatedAt(page, TranslationTaskStatus.IN_PROGRESS, now));
+            }
+        }
+        return claimed;
+    }
+
+    public List<TranslationBatchDTO> getBatches() {
+        return batchRepository.findAllByOrderByCreatedAtDesc().stream().map(this::toDTO).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${translation.claude.batch-poll-interval:PT1M}", initialDelayString = "PT30S")
+    public void pollBatches() {
+        for (TranslationBatch batch : batchRepository.findByStatus(TranslationBatchStatus.IN_PROGRESS)) {
+            try {
+                pollBatch(batch);
+            } catch (Exception e) {
+                log.error("Failed to poll Claude batch {}: {}", batch.getProviderBatchId(), e.getMessage());
+            }
+        }
+    }
+
+    private void pollBatch(TranslationBatch batch) throws Exception {
+        ClaudeBatchClient.BatchStatus status = batchClient.getStatus(batch.getProviderBatchId());
+        if (!status.ended()) return;
+
+        Map<TaskKey, Map<String, String[]>> chunks = new HashMap<>();
+        Set<TaskKey> failed = new HashSet<>();
+        int[] counts = new int[2];
+        batchClient.streamResults(status.resultsUrl(), result -> {
+            ChunkId id = ChunkId.parse(result.customId());
+            if (id == null) {
+                log.warn("Ignoring unknown custom_id {} in batch {}", result.customId(), batch.getProviderBatchId());
+                return;
+            }
+            usageMeter.recordBatch(ClaudeBatchClient.PROVIDER, id.task().type().name(), id.task().targetLang(),
+                result.text(), result.inputTokens(), result.outputTokens());
+            String[] parts = chunks.computeIfAbsent(id.task(), k -> new HashMap<>())
+                .computeIfAbsent(id.field(), k -> new String[id.count()]);
+            if (result.succeeded() && id.index() < parts.length) {
+                parts[id.index()] = result.text();
+                counts[0]++;
+            } else {
+                failed.add(id.task());
+                counts[1]++;
+            }
+        });
+
+        for (Map.Entry<TaskKey, Map<String, String[]>> entry : chunks.entrySet()) {
+            TaskKey key = entry.getKey();
+            Map<String, String> fields = stitch(entry.getValue());
+            if (!failed.contains(key) && fields != null
+                    && translationWriter.write(key.type(), key.entityId(), key.targetLang(), fields)) {
+                translationTaskService.markDone(key.type(), key.entityId(), key.targetLang());
+            } else {
+                translationTaskService.markPending(key.type(), key.entityId(), key.targetLang());
+            }
+        }
+
+        batch.setStatus(TranslationBatchStatus.ENDED);
+        batch.setSucceededCount(counts[0]);
+        batch.setFailedCount(counts[1]);
+        batch.setCompletedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+        log.info("Claude batch {} ended: {} succeeded, {} failed", batch.getProviderBatchId(), counts[0], counts[1]);
+    }
+
+    /**
+     * Batch requests per claimed task. Tasks with nothing to send are settled right away: the
+     * task is deleted if its entity no longer exists, and marked DONE if every source field is blank.
+     */
+    private List<TaskRequests> buildRequests(List<TranslationTask> claimed, Set<Long> unsubmitted) {
+        int maxChars = HtmlChunker.charsForTokens(props.getClaude().getChunkTokens());
+        List<TaskRequests> result = new ArrayList<>();
+        List<Long> orphaned = new ArrayList<>();
+        List<Long> empty = new ArrayList<>();
+
+        Map<String, List<TranslationTask>> groups = claimed.stream()
+            .collect(Collectors.groupingBy(t -> t.getEntityType() + "-" + t.getSourceLang()));
+        for (List<TranslationTask> group : groups.values()) {
+            TranslationTaskEntityType type = group.get(0).getEntityType();
+            Language sourceLang = group.get(0).getSourceLang();
+            Set<Long> ids = group.stream().map(TranslationTask::getEntityId).collect(Collectors.toSet());
+            Map<Long, Map<String, String>> sources = sourceLoader.load(type, ids, sourceLang);
+
+            for (TranslationTask task : group) {
+                Map<String, String> fields = sources.get(task.getEntityId());
+                if (fields == null) {
+                    orphaned.add(task.getId());
+                    continue;
+                }
+                TaskKey key = new TaskKey(type, task.getEntityId(), task.getTargetLang());
+                List<ClaudeBatchClient.BatchRequest> requests = new ArrayList<>();
+                fields.forEach((field, text) -> {
+                    if (text == null || text.isBlank()) return;
+                    List<String> parts = HtmlChunker.split(text, maxChars);
+                    for (int i = 0; i < parts.size(); i++) {
+                        requests.add(new ClaudeBatchClient.BatchRequest(
+                            new ChunkId(key, field, i, parts.size()).format(), parts.get(i), sourceLang, task.getTargetLang()));
+                    }
+                });
+                if (requests.isEmpty()) {
+                    empty.add(task.getId());
+                } else {
+                    result.add(new TaskRequests(task, requests));
+                }
+            }
+        }
+
+        if (!orphaned.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(orphaned);
+            orphaned.forEach(unsubmitted::remove);
+            log.info("Deleted {} translation tasks whose entity no longer exists", orphaned.size());
+        }
+        if (!empty.isEmpty()) {
+            taskRepository.transition(empty, TranslationTaskStatus.IN_PROGRESS, TranslationTaskStatus.DONE, LocalDateTime.now());
+            empty.forEach(unsubmitted::remove);
+        }
+        return result;
+    }
+
+    /**
+     * Submits one batch of claimed tasks and records it. If the batch was accepted but its row
+     * cannot be saved, the provider batch id is logged so it can be recovered by hand.
+     */
+    private TranslationBatchDTO submit(List<TranslationTask> tasks, List<ClaudeBatchClient.BatchRequest> requests,
+                                       Set<Long> unsubmitted) {
+        String batchId;
+        try {
+            batchId = batchClient.submit(requests);
+        } catch (Exception e) {
+            throw new IllegalStateException("Claude batch submission failed: " + e.getMessage(), e);
+        }
+        try {
+            TranslationBatch batch = batchRepository.save(TranslationBatch.builder()
+                .providerBatchId(batchId)
+                .requestCount(requests.size())
+                .build());
+            tasks.forEach(t -> unsubmitted.remove(t.getId()));
+            return toDTO(batch);
+        } catch (RuntimeException e) {
+            log.error("Claude batch {} was submitted with {} requests but could not be recorded", batchId, requests.size(), e);
+            throw e;
+        }
+    }
+
+    private void requeueAll() {
+        articleRepository.findAllIds().forEach(id -> translationTaskService.createTasksForEntity(TranslationTaskEntityType.ARTICLE, id));
+        categoryRepository.findAllIds().forEach(id -> translationTaskService.createTasksForEntity(TranslationTaskEntityType.CATEGORY, id));
+        authorRepository.findAllIds().forEach(id -> translationTaskService.createTasksForEntity(TranslationTaskEntityType.AUTHOR, id));
+        tagRepository.findAllIds().forEach(id -> translationTaskService.createTasksForEntity(TranslationTaskEntityType.TAG, id));
+    }
+
+    private static Map<String, String> stitch(Map<String, String[]> fieldChunks) {
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, String[]> entry : fieldChunks.entrySet()) {
+            StringBuilder text = new StringBuilder();
+            for (String part : entry.getValue()) {
+                if (part == null) return null;
+                text.append(part);
+            }
+            fields.put(entry.getKey(), text.toString());
+        }
+        return fields;
+    }
+
+    private TranslationBatchDTO toDTO(TranslationBatch b) {
+        return new TranslationBatchDTO(b.getId(), b.getProviderBatchId(), b.getStatus().name(),
+            b.getRequestCount(), b.getSucceededCount(), b.getFailedCount(), b.getCreatedAt(), b.getCompletedAt());
+    }
+}
@@ -0,0 +1,78 @@
+package de.tzr.service;
+
+import de.tzr.model.DerivedTranslation;
+import de.tzr.model.FieldFingerprints;
+import de.tzr.model.Language;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Decides on an editor save which translations a change of the source text affects.
+ */
+final class TranslationChanges {
+
+    private TranslationChanges() {}
+
+    /**
+     * Target languages whose translation derives from a source field that changed between
+     * {@code before} and {@code after}, plus missing translations when anything changed. Manual
+     * translations are never affected. A changed field without a recorded hash counts as
+     * derived from {@code before}.
+     */
+    static Set<Language> affectedLanguages(FieldFingerprints before, FieldFingerprints after,
+                                           Map<Language, ? extends DerivedTranslation> translations) {
+        Set<String> changed = before.changedFields(after);
+        Set<Language> affected = EnumSet.noneOf(Language.class);
+        if (changed.isEmpty()) return affected;
+
+        for (Language lang : Language.values()) {
+            if (lang == Language.DEFAULT) continue;
+            DerivedTranslation row = translations.get(lang);
+            if (row == null) {
+                affected.add(lang);
+                continue;
+            }
+            if (row.isManualTranslation()) continue;
+
+            FieldFingerprints derivedFrom = row.sourceFingerprints();
+            for (String field : changed) {
+                String derived = derivedFrom.has(field) ? derivedFrom.get(field) : before.get(field);
+                if (!Objects.equals(derived, after.get(field))) {
+                    affected.add(lang);
+                    break;
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Records {@code before} as the source of every changed field that a non-manual row has no
+     * hash for, so the pipeline later sees those fields as derived from the old text. Call it
+     * before the source fingerprints are replaced by {@code after}.
+     */
+    static void stampUnrecorded(FieldFingerprints before, FieldFingerprints after,
+                                Map<Language, ? extends DerivedTranslation> translations) {
+        Set<String> changed = before.changedFields(after);
+        if (changed.isEmpty()) return;
+        for (DerivedTranslation row : translations.values()) {
+            if (row.isManualTranslation()) continue;
+            FieldFingerprints derivedFrom = row.sourceFingerprints();
+            List<String> unrecorded = changed.stream().filter(f -> !derivedFrom.has(f)).toList();
+            if (!unrecorded.isEmpty()) row.setSourceFingerprints(derivedFrom.with(unrecorded, before));
+        }
+    }
+
+    /** True if a submitted translation value differs from the stored one; blank equals null. */
+    static boolean edited(String stored, String submitted) {
+        return !Objects.equals(blankToNull(stored), blankToNull(submitted));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
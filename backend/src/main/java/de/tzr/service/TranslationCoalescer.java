@@ -0,0 +1,133 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Debounces translation triggers per entity. A trigger is delayed by the quiet period and every
+ * further trigger for the same entity pushes the run back, up to the max delay after the first
+ * one. At most one translation per entity is in flight; triggers arriving while it runs schedule
+ * exactly one follow-up run. The source is read when the run starts, so the latest saved version
+ * is what gets translated.
+ */
+@Service
+@Slf4j
+public class TranslationCoalescer {
+
+    private record Key(TranslationTaskEntityType type, Long id) {}
+
+    private static final class Pending {
+        Language sourceLang;
+        Instant firstRequestedAt;
+        ScheduledFuture<?> future;
+        long generation;
+        boolean running;
+        boolean rerun;
+    }
+
+    private final AutoTranslationService autoTranslationService;
+    private final TranslationProperties props;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    public TranslationCoalescer(AutoTranslationService autoTranslationService, TranslationProperties props,
+                                TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.autoTranslationService = autoTranslationService;
+        this.props = props;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("translation.coalesce.pending", Tags.empty(), pending);
+    }
+
+    public void request(TranslationTaskEntityType type, Long id, Language sourceLang) {
+        if (!props.isAutoTranslate()) return;
+        Key key = new Key(type, id);
+        pending.compute(key, (k, entry) -> {
+            Instant now = Instant.now();
+            if (entry == null) {
+                entry = new Pending();
+                entry.firstRequestedAt = now;
+                count("scheduled");
+            } else if (entry.running) {
+                entry.rerun = true;
+                count("coalesced");
+            } else {
+                entry.future.cancel(false);
+                count("coalesced");
+            }
+            entry.sourceLang = sourceLang;
+            if (!entry.running) {
+                schedule(k, entry, runAt(entry.firstRequestedAt, now));
+            }
+            return entry;
+        });
+    }
+
+    /** Must be called while holding the entry's map slot. Stale firings are ignored by generation. */
+    private void schedule(Key key, Pending entry, Instant at) {
+        long generation = ++entry.generation;
+        entry.future = taskScheduler.schedule(() -> fire(key, generation), at);
+    }
+
+    private Instant runAt(Instant firstRequestedAt, Instant now) {
+        TranslationProperties.Coalesce cfg = props.getCoalesce();
+        Instant quiet = now.plus(cfg.getQuietPeriod());
+        Instant cap = firstRequestedAt.plus(cfg.getMaxDelay());
+        return quiet.isBefore(cap) ? quiet : cap;
+    }
+
+    private void fire(Key key, long generation) {
+        Language[] sourceLang = {null};
+        pending.computeIfPresent(key, (k, e) -> {
+            if (!e.running && e.generation == generation) {
+                e.running = true;
+                sourceLang[0] = e.sourceLang;
+            }
+            return e;
+        });
+        if (sourceLang[0] == null) return;
+
+        meterRegistry.counter("translation.coalesce.executions", "type", key.type().name()).increment();
+        CompletableFuture<Void> run;
+        try {
+            run = autoTranslationService.translate(key.type(), key.id(), sourceLang[0]);
+        } catch (RuntimeException e) {
+            run = CompletableFuture.failedFuture(e);
+        }
+        run.whenComplete((ok, error) -> {
+            if (error != null) {
+                log.error("Translation of {} {} failed: {}", key.type(), key.id(), error.getMessage());
+            }
+            finished(key);
+        });
+    }
+
+    private void finished(Key key) {
+        pending.compute(key, (k, entry) -> {
+            if (entry == null || !entry.rerun) return null;
+            Instant now = Instant.now();
+            entry.running = false;
+            entry.rerun = false;
+            entry.firstRequestedAt = now;
+            schedule(k, entry, runAt(now, now));
+            return entry;
+        });
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("translation.coalesce.triggers", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,69 @@
+package de.tzr.service;
+
+import de.tzr.config.CacheConfig;
+import de.tzr.dto.TranslationCompletenessDTO;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import de.tzr.repository.ArticleRepository;
+import de.tzr.repository.AuthorRepository;
+import de.tzr.repository.CategoryRepository;
+import de.tzr.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Which (entity, language) pairs have a real translation: article title and body, category and
+ * tag name, author bio. One query per entity type; the result is cached until the next
+ * translation or entity write.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TranslationCompletenessService {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+
+    @Cacheable(CacheConfig.TRANSLATION_COMPLETENESS)
+    public List<TranslationCompletenessDTO> getMatrix() {
+        List<TranslationCompletenessDTO> matrix = new ArrayList<>();
+        for (TranslationTaskEntityType type : TranslationTaskEntityType.values()) {
+            List<Object[]> rows = switch (type) {
+                case ARTICLE -> articleRepository.findTranslatedLanguages();
+                case CATEGORY -> categoryRepository.findTranslatedLanguages();
+                case AUTHOR -> authorRepository.findTranslatedLanguages();
+                case TAG -> tagRepository.findTranslatedLanguages();
+            };
+            Map<Long, Set<Language>> translatedById = new TreeMap<>();
+            for (Object[] row : rows) {
+                Set<Language> languages = translatedById.computeIfAbsent((Long) row[0], id -> EnumSet.noneOf(Language.class));
+                if (row[1] != null) languages.add((Language) row[1]);
+            }
+
+            Map<Language, List<Long>> missing = new EnumMap<>(Language.class);
+            for (Language lang : Language.values()) {
+                if (lang != Language.DEFAULT) missing.put(lang, new ArrayList<>());
+            }
+            translatedById.forEach((id, languages) -> missing.forEach((lang, ids) -> {
+                if (!languages.contains(lang)) ids.add(id);
+            }));
+
+            int total = translatedById.size();
+            missing.forEach((lang, ids) -> matrix.add(new TranslationCompletenessDTO(
+                type.name(), lang.name(), total, total - ids.size(), List.copyOf(ids))));
+        }
+        return List.copyOf(matrix);
+    }
+}
@@ -0,0 +1,27 @@
+package de.tzr.service;
+
+import de.tzr.model.Language;
+
+/**
+ * A remote machine-translation backend. Implementations return null on any failure so the
+ * {@link TranslationRouter} can move on to the next candidate.
+ */
+public interface TranslationProvider {
+
+    /** Short, stable identifier used in metrics and config ("deepl", "claude"). */
+    String name();
+
+    /** Configured and not currently blocked by its circuit breaker. */
+    boolean isAvailable();
+
+    /** Whether this provider can handle text of the given format and length. */
+    boolean supports(TextFormat format, int length);
+
+    /** Approximate price per million source characters, used to weigh routes against each other. */
+    double costPerMillionChars();
+
+    /** Static latency estimate; the router scales it by what it has observed since. */
+    double expectedLatencyMs(TextFormat format, int length);
+
+    String translate(String text, Language sourceLang, Language targetLang, TextFormat format);
+}
@@ -0,0 +1,152 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationTaskEntityType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the translation provider for each call from live per-provider statistics.
+ * <p>
+ * Candidates are the available providers that support the text's format and length. Each is
+ * scored by its expected latency, scaled by the observed/expected ratio and penalised by its
+ * recent error rate and (for HTML) markup fidelity, plus its estimated price. The cheapest route
+ * is tried first and the rest serve as fallbacks. Statistics are exponentially weighted moving
+ * averages per (provider, format).
+ */
+@Service
+@Slf4j
+public class TranslationRouter {
+
+    private static final double ALPHA = 0.2;
+    private static final double ERROR_PENALTY = 4.0;
+    private static final double QUALITY_PENALTY = 2.0;
+    private static final Pattern TAG = Pattern.compile("<[a-zA-Z/]");
+
+    private final List<TranslationProvider> providers;
+    private final TranslationProperties props;
+    private final MeterRegistry meterRegistry;
+    private final TranslationUsageMeter usageMeter;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+
+    public TranslationRouter(List<TranslationProvider> providers, TranslationProperties props, MeterRegistry meterRegistry,
+                             TranslationUsageMeter usageMeter) {
+        this.providers = providers;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.usageMeter = usageMeter;
+    }
+
+    private static final class RouteStats {
+        private double latencyRatio = 1.0;
+        private double errorRate = 0.0;
+        private double quality = 1.0;
+
+        synchronized void record(double ratio, boolean success, double fidelity) {
+            errorRate += ALPHA * ((success ? 0 : 1) - errorRate);
+            if (success) {
+                latencyRatio += ALPHA * (ratio - latencyRatio);
+                quality += ALPHA * (fidelity - quality);
+            }
+        }
+
+        synchronized double score(double expectedMs, double cost, double costWeight) {
+            return expectedMs * latencyRatio
+                * (1 + ERROR_PENALTY * errorRate)
+                * (1 + QUALITY_PENALTY * (1 - quality))
+                + costWeight * cost;
+        }
+    }
+
+    public String translate(String text, Language sourceLang, Language targetLang, TextFormat format) {
+        return translate(text, sourceLang, targetLang, format, null, null);
+    }
+
+    /**
+     * Like {@link #translate(String, Language, Language, TextFormat)}, but tries the preferred
+     * provider first whenever it is a candidate; the ranked routes remain as fallbacks. Usage is
+     * metered under {@code entityType}.
+     */
+    public String translate(String text, Language sourceLang, Language targetLang, TextFormat format,
+                            String preferred, TranslationTaskEntityType entityType) {
+        if (text == null || text.isBlank()) return text;
+
+        int length = text.length();
+        String size = sizeBucket(length);
+        List<TranslationProvider> candidates = rank(format, length, preferred);
+        if (candidates.isEmpty()) {
+            log.warn("No translation provider available for {} text of {} chars", format, length);
+            return null;
+        }
+        meterRegistry.counter("translation.route.decisions",
+            "provider", candidates.get(0).name(), "format", format.name(), "size", size).increment();
+
+        for (int attempt = 0; attempt < candidates.size(); attempt++) {
+            TranslationProvider provider = candidates.get(attempt);
+            long start = System.nanoTime();
+            ProviderCallUsage usage = ProviderCallUsage.open();
+            String result;
+            try {
+                result = provider.translate(text, sourceLang, targetLang, format);
+            } finally {
+                ProviderCallUsage.close();
+            }
+            long elapsed = System.nanoTime() - start;
+            usageMeter.record(provider.name(), entityType != null ? entityType.name() : null, targetLang, length, result,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), attempt > 0, usage);
+
+            boolean success = result != null;
+            double ratio = TimeUnit.NANOSECONDS.toMillis(elapsed) / Math.max(1, provider.expectedLatencyMs(format, length));
+            statsFor(provider, format).record(ratio, success, success ? fidelity(text, result, format) : 0);
+            Timer.builder("translation.route.attempts")
+                .tag("provider", provider.name())
+                .tag("format", format.name())
+                .tag("size", size)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (success) return result;
+            log.warn("{} failed to translate {} text of {} chars, trying next provider", provider.name(), format, length);
+        }
+        return null;
+    }
+
+    private List<TranslationProvider> rank(TextFormat format, int length, String preferred) {
+        double costWeight = props.getRouting().getCostWeight();
+        Comparator<TranslationProvider> byScore = Comparator.comparingDouble(p -> statsFor(p, format).score(
+            p.expectedLatencyMs(format, length), p.costPerMillionChars() * length / 1_000_000.0, costWeight));
+        return providers.stream()
+            .filter(p -> p.isAvailable() && p.supports(format, length))
+            .sorted(Comparator.comparing((TranslationProvider p) -> !p.name().equals(preferred)).thenComparing(byScore))
+            .toList();
+    }
+
+    private RouteStats statsFor(TranslationProvider provider, TextFormat format) {
+        return stats.computeIfAbsent(provider.name() + ":" + format, k -> new RouteStats());
+    }
+
+    /**
+     * 1 when the translation has as many tags as the source, 0 otherwise. Plain text always scores 1.
+     */
+    private static double fidelity(String source, String translated, TextFormat format) {
+        if (format != TextFormat.HTML) return 1.0;
+        return TAG.matcher(source).results().count() == TAG.matcher(translated).results().count() ? 1.0 : 0.0;
+    }
+
+    private String sizeBucket(int length) {
+        if (length <= props.getRouting().getShortMaxChars()) return "short";
+        if (length <= props.getDeepl().getHtmlMaxChars()) return "medium";
+        return "long";
+    }
+}
@@ -0,0 +1,160 @@
+package de.tzr.service;
+
+import de.tzr.model.*;
+import de.tzr.repository.ArticleRepository;
+import de.tzr.repository.AuthorRepository;
+import de.tzr.repository.CategoryRepository;
+import de.tzr.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads the translatable source fields of an entity into a plain map, detached from the
+ * persistence context, so providers can be called without holding a transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TranslationSourceLoader {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+
+    public Map<String, String> load(TranslationTaskEntityType type, Long id, Language sourceLang) {
+        return load(type, List.of(id), sourceLang).get(id);
+    }
+
+    /**
+     * Source fields plus, per target language, the fields whose translation is missing or was
+     * made from a different source version. Manual translations are never stale; a translated
+     * field without a recorded source hash counts as current.
+     */
+    public Snapshot snapshot(TranslationTaskEntityType type, Long id, Language sourceLang) {
+        return switch (type) {
+            case ARTICLE -> articleRepository.findById(id)
+                .map(a -> snapshot(articleFields(a, sourceLang), a.getTranslations(), lang -> articleFields(a, lang), sourceLang))
+                .orElse(null);
+            case CATEGORY -> categoryRepository.findById(id)
+                .map(c -> snapshot(categoryFields(c, sourceLang), c.getTranslations(), lang -> categoryFields(c, lang), sourceLang))
+                .orElse(null);
+            case AUTHOR -> authorRepository.findById(id)
+                .map(a -> snapshot(authorFields(a, sourceLang), a.getTranslations(), lang -> authorFields(a, lang), sourceLang))
+                .orElse(null);
+            case TAG -> tagRepository.findById(id)
+                .map(t -> snapshot(tagFields(t, sourceLang), t.getTranslations(), lang -> tagFields(t, lang), sourceLang))
+                .orElse(null);
+        };
+    }
+
+    public record Snapshot(Map<String, String> source, FieldFingerprints fingerprints,
+                           Map<Language, Set<String>> staleFields) {}
+
+    static Snapshot snapshot(Map<String, String> source, Map<Language, ? extends DerivedTranslation> translations,
+                             Function<Language, Map<String, String>> translatedFields, Language sourceLang) {
+        FieldFingerprints fingerprints = FieldFingerprints.of(source);
+        Map<Language, Set<String>> stale = new EnumMap<>(Language.class);
+        for (Language lang : Language.values()) {
+            if (lang == sourceLang) continue;
+            DerivedTranslation row = translations.get(lang);
+            Set<String> fields = new LinkedHashSet<>();
+            if (row == null) {
+                fields.addAll(fingerprints.fields());
+            } else if (!row.isManualTranslation()) {
+                Map<String, String> translated = translatedFields.apply(lang);
+                FieldFingerprints derivedFrom = row.sourceFingerprints();
+                for (String field : fingerprints.fields()) {
+                    String value = translated.get(field);
+                    boolean missing = value == null || value.isBlank();
+                    boolean outdated = derivedFrom.has(field) && !derivedFrom.get(field).equals(fingerprints.get(field));
+                    if (missing || outdated) fields.add(field);
+                }
+            }
+            stale.put(lang, fields);
+        }
+        return new Snapshot(source, fingerprints, stale);
+    }
+
+    public Map<Long, Map<String, String>> load(TranslationTaskEntityType type, Collection<Long> ids, Language sourceLang) {
+        Map<Long, Map<String, String>> result = new HashMap<>();
+        switch (type) {
+            case ARTICLE -> articleRepository.findAllById(ids)
+                .forEach(a -> result.put(a.getId(), articleFields(a, sourceLang)));
+            case CATEGORY -> categoryRepository.findAllById(ids)
+                .forEach(c -> result.put(c.getId(), categoryFields(c, sourceLang)));
+            case AUTHOR -> authorRepository.findAllById(ids)
+                .forEach(a -> result.put(a.getId(), authorFields(a, sourceLang)));
+            case TAG -> tagRepository.findAllById(ids)
+                .forEach(t -> result.put(t.getId(), tagFields(t, sourceLang)));
+        }
+        return result;
+    }
+
+    static Map<String, String> articleFields(Article article, Language lang) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        ArticleTranslation t = lang != Language.DEFAULT ? article.getTranslations().get(lang) : null;
+        if (t != null) {
+            fields.put("title", t.getTitle());
+            fields.put("excerpt", t.getExcerpt());
+            fields.put("body", t.getBody());
+            fields.put("metaTitle", t.getMetaTitle());
+            fields.put("metaDescription", t.getMetaDescription());
+        } else {
+            fields.put("title", article.getTitle());
+            fields.put("excerpt", article.getExcerpt());
+            fields.put("body", article.getBody());
+            fields.put("metaTitle", article.getMetaTitle());
+            fields.put("metaDescription", article.getMetaDescription());
+        }
+        return fields;
+    }
+
+    static Map<String, String> categoryFields(Category category, Language lang) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        CategoryTranslation t = lang != Language.DEFAULT ? category.getTranslations().get(lang) : null;
+        if (t != null) {
+            fields.put("name", t.getName());
+            fields.put("displayName", t.getDisplayName());
+            fields.put("description", t.getDescription());
+        } else {
+            fields.put("name", category.getName());
+            fields.put("displayName", category.getDisplayName());
+            fields.put("description", category.getDescription());
+        }
+        return fields;
+    }
+
+    static Map<String, String> authorFields(Author author, Language lang) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        String bio = author.getBio();
+        if (lang != Language.DEFAULT) {
+            AuthorTranslation t = author.getTranslations().get(lang);
+            if (t != null && t.getBio() != null) bio = t.getBio();
+        }
+        fields.put("bio", bio);
+        return fields;
+    }
+
+    static Map<String, String> tagFields(Tag tag, Language lang) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        String name = tag.getName();
+        if (lang != Language.DEFAULT) {
+            TagTranslation t = tag.getTranslations().get(lang);
+            if (t != null) name = t.getName();
+        }
+        fields.put("name", name);
+        return fields;
+    }
+}
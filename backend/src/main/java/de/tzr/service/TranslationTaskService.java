@@ -1,56 +1,97 @@
 package de.tzr.service;
 
+import de.tzr.dto.PageResponse;
 import de.tzr.dto.TranslationTaskDTO;
 import de.tzr.exception.ResourceNotFoundException;
 import de.tzr.model.*;
 import de.tzr.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TranslationTaskService {
 
+    private static final String INSERT_SQL =
+        "INSERT INTO translation_tasks (entity_type, entity_id, source_lang, target_lang, status, created_at, updated_at) " +
+        "SELECT CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM translation_tasks " +
+        "WHERE entity_type = ? AND entity_id = ? AND target_lang = ? AND status <> ?)";
+
     private final TranslationTaskRepository taskRepository;
     private final ArticleRepository articleRepository;
     private final CategoryRepository categoryRepository;
     private final AuthorRepository authorRepository;
     private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public void createTasksForEntity(TranslationTaskEntityType entityType, Long entityId) {
-        for (Language targetLang : List.of(Language.PT, Language.EN)) {
-            boolean exists = taskRepository.findByEntityTypeAndEntityId(entityType, entityId).stream()
-                .anyMatch(t -> t.getTargetLang() == targetLang && t.getStatus() != TranslationTaskStatus.DONE);
-            if (!exists) {
-                TranslationTask task = TranslationTask.builder()
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .sourceLang(Language.DE)
-                    .targetLang(targetLang)
-                    .status(TranslationTaskStatus.PENDING)
-                    .build();
-                taskRepository.save(task);
-            }
-        }
+        createTasksForEntity(entityType, entityId, List.of(Language.PT, Language.EN));
     }
 
-    @Transactional(readOnly = true)
-    public List<TranslationTaskDTO> getPendingTasks() {
-        return taskRepository.findByStatus(TranslationTaskStatus.PENDING).stream()
-            .map(this::toDTO)
-            .toList();
+    /**
+     * Creates a PENDING task for every target language without an open one. Check and insert are
+     * one statement per language, sent as one batch, so there is no read-then-write gap between
+     * them. Two statements running at the very same moment can still both insert; the open tasks
+     * of a language are always updated together, so such a duplicate is harmless.
+     */
+    public void createTasksForEntity(TranslationTaskEntityType entityType, Long entityId, Collection<Language> targetLangs) {
+        List<Language> langs = targetLangs.stream().distinct().toList();
+        if (langs.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, langs, langs.size(), (ps, targetLang) -> {
+            ps.setString(1, entityType.name());
+            ps.setLong(2, entityId);
+            ps.setString(3, Language.DE.name());
+            ps.setString(4, targetLang.name());
+            ps.setString(5, TranslationTaskStatus.PENDING.name());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+            ps.setString(8, entityType.name());
+            ps.setLong(9, entityId);
+            ps.setString(10, targetLang.name());
+            ps.setString(11, TranslationTaskStatus.DONE.name());
+        });
+    }
+
+    public void markDone(TranslationTaskEntityType entityType, Long entityId, Language targetLang) {
+        taskRepository.updateOpenStatus(entityType, entityId, targetLang, TranslationTaskStatus.DONE, LocalDateTime.now());
+    }
+
+    public void markPending(TranslationTaskEntityType entityType, Long entityId, Language targetLang) {
+        taskRepository.updateOpenStatus(entityType, entityId, targetLang, TranslationTaskStatus.PENDING, LocalDateTime.now());
     }
 
+    /**
+     * One page of tasks, optionally filtered. Entity titles are resolved with one IN query per
+     * entity type on the page.
+     */
     @Transactional(readOnly = true)
-    public List<TranslationTaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-            .map(this::toDTO)
+    public PageResponse<TranslationTaskDTO> getTasks(TranslationTaskStatus status, TranslationTaskEntityType entityType,
+                                                     Language targetLang, Pageable pageable) {
+        Page<TranslationTask> page = taskRepository.search(status, entityType, targetLang, pageable);
+        Map<TranslationTaskEntityType, Map<Long, String>> titles = resolveEntityTitles(page.getContent());
+        List<TranslationTaskDTO> content = page.getContent().stream()
+            .map(t -> toDTO(t, titles))
             .toList();
+        return new PageResponse<>(content, page.getNumber(), page.getSize(),
+            page.getTotalElements(), page.getTotalPages(), page.isFirst(), page.isLast());
     }
 
     @Transactional(readOnly = true)
@@ -70,7 +111,17 @@ public class TranslationTaskService {
     }
 
     private TranslationTaskDTO toDTO(TranslationTask t) {
-        String entityTitle = resolveEntityTitle(t.getEntityType(), t.getEntityId());
+        return toDTO(t, resolveEntityTitles(List.of(t)));
+    }
+
+    private TranslationTaskDTO toDTO(TranslationTask t, Map<TranslationTaskEntityType, Map<Long, String>> titles) {
+        String entityTitle = titles.getOrDefault(t.getEntityType(), Map.of()).get(t.getEntityId());
+        if (entityTitle == null) entityTitle = "Unknown " + switch (t.getEntityType()) {
+            case ARTICLE -> "Article";
+            case CATEGORY -> "Category";
+            case AUTHOR -> "Author";
+            case TAG -> "Tag";
+        };
         return new TranslationTaskDTO(
             t.getId(), t.getEntityType().name(), t.getEntityId(), entityTitle,
             t.getSourceLang().name(), t.getTargetLang().name(), t.getStatus().name(),
@@ -78,12 +129,24 @@ public class TranslationTaskService {
         );
     }
 
-    private String resolveEntityTitle(TranslationTaskEntityType type, Long id) {
-        return switch (type) {
-            case ARTICLE -> articleRepository.findById(id).map(Article::getTitle).orElse("Unknown Article");
-            case CATEGORY -> categoryRepository.findById(id).map(Category::getDisplayName).orElse("Unknown Category");
-            case AUTHOR -> authorRepository.findById(id).map(Author::getName).orElse("Unknown Author");
-            case TAG -> tagRepository.findById(id).map(Tag::getName).orElse("Unknown Tag");
-        };
+    private Map<TranslationTaskEntityType, Map<Long, String>> resolveEntityTitles(List<TranslationTask> tasks) {
+        Map<TranslationTaskEntityType, Set<Long>> idsByType = tasks.stream()
+            .collect(Collectors.groupingBy(TranslationTask::getEntityType,
+                () -> new EnumMap<>(TranslationTaskEntityType.class),
+                Collectors.mapping(TranslationTask::getEntityId, Collectors.toSet())));
+
+        Map<TranslationTaskEntityType, Map<Long, String>> titles = new EnumMap<>(TranslationTaskEntityType.class);
+        idsByType.forEach((type, ids) -> {
+            List<Object[]> rows = switch (type) {
+                case ARTICLE -> articleRepository.findTitlesByIds(ids);
+                case CATEGORY -> categoryRepository.findTitlesByIds(ids);
+                case AUTHOR -> authorRepository.findTitlesByIds(ids);
+                case TAG -> tagRepository.findTitlesByIds(ids);
+            };
+            Map<Long, String> byId = new HashMap<>();
+            rows.forEach(row -> byId.put((Long) row[0], (String) row[1]));
+            titles.put(type, byId);
+        });
+        return titles;
     }
 }
@@ -0,0 +1,248 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import de.tzr.dto.TranslationUsageDTO;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationUsage;
+import de.tzr.repository.TranslationUsageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Meters every routed provider call: Micrometer counters for live dashboards, and an hourly
+ * ledger per (provider, entity type, language) that is buffered in memory and flushed
+ * periodically, so metering never adds a database write to a translation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TranslationUsageMeter {
+
+    private final TranslationUsageRepository usageRepository;
+    private final TranslationProperties props;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Message Batches are billed at half the standard token price. */
+    private static final double BATCH_PRICE_FACTOR = 0.5;
+
+    private final Map<Key, Totals> buffer = new ConcurrentHashMap<>();
+
+    private record Key(LocalDateTime bucketStart, String provider, String entityType, Language language) {}
+
+    private static final class Totals {
+        long requests, failures, fallbacks, retries, charsSent, charsReceived, billedChars,
+            inputTokens, outputTokens, latencyMillis;
+
+        Totals add(Totals other) {
+            requests += other.requests;
+            failures += other.failures;
+            fallbacks += other.fallbacks;
+            retries += other.retries;
+            charsSent += other.charsSent;
+            charsReceived += other.charsReceived;
+            billedChars += other.billedChars;
+            inputTokens += other.inputTokens;
+            outputTokens += other.outputTokens;
+            latencyMillis += other.latencyMillis;
+            return this;
+        }
+    }
+
+    /** One call of {@code provider}; {@code fallback} if a higher-ranked provider failed before it. */
+    public void record(String provider, String entityType, Language language, int charsSent, String result,
+                       long latencyMillis, boolean fallback, ProviderCallUsage usage) {
+        boolean success = result != null;
+        int charsReceived = success ? result.length() : 0;
+        String entity = entityType != null ? entityType : "NONE";
+
+        meterRegistry.counter("translation.usage.requests", "provider", provider, "entity", entity,
+            "lang", language.name(), "outcome", success ? "success" : "failure").increment();
+        meterRegistry.counter("translation.usage.chars", "provider", provider, "entity", entity,
+            "lang", language.name(), "direction", "sent").increment(charsSent);
+        meterRegistry.counter("translation.usage.chars", "provider", provider, "entity", entity,
+            "lang", language.name(), "direction", "received").increment(charsReceived);
+        if (fallback) {
+            meterRegistry.counter("translation.usage.fallbacks", "provider", provider, "entity", entity).increment();
+        }
+
+        Key key = new Key(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS), provider, entity, language);
+        buffer.compute(key, (k, totals) -> {
+            if (totals == null) totals = new Totals();
+            totals.requests++;
+            if (!success) totals.failures++;
+            if (fallback) totals.fallbacks++;
+            totals.charsSent += charsSent;
+            totals.charsReceived += charsReceived;
+            totals.latencyMillis += latencyMillis;
+            if (usage != null) {
+                totals.retries += usage.retries.get();
+                totals.billedChars += usage.billedChars.get();
+                totals.inputTokens += usage.inputTokens.get();
+                totals.outputTokens += usage.outputTokens.get();
+            }
+            return totals;
+        });
+    }
+
+    /**
+     * One result of a provider batch. Batches run outside the router, so their results are
+     * metered here, without characters sent or latency.
+     */
+    public void recordBatch(String provider, String entityType, Language language, String result,
+                            long inputTokens, long outputTokens) {
+        boolean success = result != null;
+        meterRegistry.counter("translation.usage.requests", "provider", provider, "entity", entityType,
+            "lang", language.name(), "outcome", success ? "success" : "failure").increment();
+        meterRegistry.counter("translation.usage.chars", "provider", provider, "entity", entityType,
+            "lang", language.name(), "direction", "received").increment(success ? result.length() : 0);
+
+        Key key = new Key(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS), provider, entityType, language);
+        buffer.compute(key, (k, totals) -> {
+            if (totals == null) totals = new Totals();
+            totals.requests++;
+            if (!success) totals.failures++;
+            if (success) totals.charsReceived += result.length();
+            totals.inputTokens += inputTokens;
+            totals.outputTokens += outputTokens;
+            return totals;
+        });
+    }
+
+    /**
+     * Writes the buffered totals in one transaction. If the write or the commit fails, the totals
+     * are merged back into the buffer and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${translation.usage.flush-interval:PT1M}")
+    public void flush() {
+        Map<Key, Totals> drained = new HashMap<>();
+        for (Key key : List.copyOf(buffer.keySet())) {
+            Totals totals = buffer.remove(key);
+            if (totals != null) drained.put(key, totals);
+        }
+        if (drained.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> drained.forEach(this::write));
+        } catch (RuntimeException e) {
+            drained.forEach((key, totals) -> buffer.merge(key, totals, Totals::add));
+            throw e;
+        }
+    }
+
+    private void write(Key key, Totals totals) {
+        TranslationUsage row = usageRepository
+            .findByBucketStartAndProviderAndEntityTypeAndLanguage(key.bucketStart(), key.provider(), key.entityType(), key.language())
+            .orElseGet(() -> TranslationUsage.builder()
+                .bucketStart(key.bucketStart())
+                .provider(key.provider())
+                .entityType(key.entityType())
+                .language(key.language())
+                .build());
+        row.setRequests(row.getRequests() + totals.requests);
+        row.setFailures(row.getFailures() + totals.failures);
+        row.setFallbacks(row.getFallbacks() + totals.fallbacks);
+        row.setRetries(row.getRetries() + totals.retries);
+        row.setCharsSent(row.getCharsSent() + totals.charsSent);
+        row.setCharsReceived(row.getCharsReceived() + totals.charsReceived);
+        row.setBilledChars(row.getBilledChars() + totals.billedChars);
+        row.setInputTokens(row.getInputTokens() + totals.inputTokens);
+        row.setOutputTokens(row.getOutputTokens() + totals.outputTokens);
+        row.setLatencyMillis(row.getLatencyMillis() + totals.latencyMillis);
+        usageRepository.save(row);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Could not flush translation usage on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ledger rows of the last {@code days} days, summed per hour or per day. The estimated cost
+     * prices Claude on its input and output tokens (batches at the batch discount), and other
+     * providers per million characters, on billed characters where the provider reports them.
+     */
+    @Transactional(readOnly = true)
+    public List<TranslationUsageDTO> getUsage(int days, boolean hourly) {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(Math.max(0, days - 1));
+        Map<Key, TranslationUsage> grouped = new TreeMap<>(
+            Comparator.comparing(Key::bucketStart)
+                .thenComparing(Key::provider)
+                .thenComparing(Key::entityType)
+                .thenComparing(Key::language));
+        for (TranslationUsage row : usageRepository.findByBucketStartGreaterThanEqualOrderByBucketStart(from)) {
+            LocalDateTime bucket = hourly ? row.getBucketStart() : row.getBucketStart().truncatedTo(ChronoUnit.DAYS);
+            Key key = new Key(bucket, row.getProvider(), row.getEntityType(), row.getLanguage());
+            grouped.merge(key, copy(row, bucket), TranslationUsageMeter::add);
+        }
+
+        List<TranslationUsageDTO> result = new ArrayList<>();
+        grouped.forEach((key, u) -> result.add(new TranslationUsageDTO(
+            key.bucketStart(), key.provider(), key.entityType(), key.language().name(),
+            u.getRequests(), u.getFailures(), u.getFallbacks(), u.getRetries(),
+            u.getCharsSent(), u.getCharsReceived(), u.getBilledChars(),
+            u.getInputTokens(), u.getOutputTokens(),
+            u.getRequests() > 0 ? u.getLatencyMillis() / u.getRequests() : 0,
+            estimatedCost(u))));
+        return result;
+    }
+
+    private double estimatedCost(TranslationUsage usage) {
+        boolean batch = ClaudeBatchClient.PROVIDER.equals(usage.getProvider());
+        if ((batch || "claude".equals(usage.getProvider())) && usage.getInputTokens() + usage.getOutputTokens() > 0) {
+            TranslationProperties.Claude claude = props.getClaude();
+            double cost = (usage.getInputTokens() * claude.getCostPerMillionInputTokens()
+                + usage.getOutputTokens() * claude.getCostPerMillionOutputTokens()) / 1_000_000.0;
+            return batch ? cost * BATCH_PRICE_FACTOR : cost;
+        }
+        double perMillion = switch (usage.getProvider()) {
+            case "deepl" -> props.getDeepl().getCostPerMillionChars();
+            case "claude" -> props.getClaude().getCostPerMillionChars();
+            default -> 0.0;
+        };
+        long chars = usage.getBilledChars() > 0 ? usage.getBilledChars() : usage.getCharsSent();
+        return chars * perMillion / 1_000_000.0;
+    }
+
+    private static TranslationUsage copy(TranslationUsage row, LocalDateTime bucket) {
+        return TranslationUsage.builder()
+            .bucketStart(bucket).provider(row.getProvider()).entityType(row.getEntityType()).language(row.getLanguage())
+            .requests(row.getRequests()).failures(row.getFailures()).fallbacks(row.getFallbacks()).retries(row.getRetries())
+            .charsSent(row.getCharsSent()).charsReceived(row.getCharsReceived()).billedChars(row.getBilledChars())
+            .inputTokens(row.getInputTokens()).outputTokens(row.getOutputTokens()).latencyMillis(row.getLatencyMillis())
+            .build();
+    }
+
+    private static TranslationUsage add(TranslationUsage a, TranslationUsage b) {
+        a.setRequests(a.getRequests() + b.getRequests());
+        a.setFailures(a.getFailures() + b.getFailures());
+        a.setFallbacks(a.getFallbacks() + b.getFallbacks());
+        a.setRetries(a.getRetries() + b.getRetries());
+        a.setCharsSent(a.getCharsSent() + b.getCharsSent());
+        a.setCharsReceived(a.getCharsReceived() + b.getCharsReceived());
+        a.setBilledChars(a.getBilledChars() + b.getBilledChars());
+        a.setInputTokens(a.getInputTokens() + b.getInputTokens());
+        a.setOutputTokens(a.getOutputTokens() + b.getOutputTokens());
+        a.setLatencyMillis(a.getLatencyMillis() + b.getLatencyMillis());
+        return a;
+    }
+}
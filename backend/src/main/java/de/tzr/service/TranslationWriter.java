@@ -0,0 +1,220 @@
+package de.tzr.service;
+
+import de.tzr.config.CacheConfig;
+import de.tzr.model.*;
+import de.tzr.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Upserts translated fields into the *_translations tables. Fields missing from the map, or
+ * mapped to null, keep their stored value. Returns false when nothing could be written, e.g.
+ * the entity is gone or a new row would lack its required title/name. Rows are looked up through
+ * the owning entity's translation map, so a transaction loads each entity's translations once.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TranslationWriter {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+    private final ArticleTranslationRepository articleTranslationRepository;
+    private final CategoryTranslationRepository categoryTranslationRepository;
+    private final AuthorTranslationRepository authorTranslationRepository;
+    private final TagTranslationRepository tagTranslationRepository;
+    private final TranslationTaskService translationTaskService;
+
+    /**
+     * Writes several target languages of one entity in a single transaction, recording the
+     * source fingerprints they were translated from, and marks the tasks of the languages in
+     * {@code complete} done unless their write failed. Returns the languages that were written.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
+    public Set<Language> writeAll(TranslationTaskEntityType type, Long entityId,
+                                  Map<Language, Map<String, String>> translations,
+                                  FieldFingerprints source, Set<Language> complete) {
+        Set<Language> written = EnumSet.noneOf(Language.class);
+        translations.forEach((lang, fields) -> {
+            if (write(type, entityId, lang, fields, source)) written.add(lang);
+        });
+        for (Language lang : complete) {
+            if (!translations.containsKey(lang) || written.contains(lang)) {
+                translationTaskService.markDone(type, entityId, lang);
+            }
+        }
+        return written;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
+    public boolean write(TranslationTaskEntityType type, Long entityId, Language lang, Map<String, String> fields) {
+        return write(type, entityId, lang, fields, null);
+    }
+
+    /**
+     * Manual translations are left untouched and count as written. When {@code source} is given,
+     * the written fields are stamped with its hashes.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
+    public boolean write(TranslationTaskEntityType type, Long entityId, Language lang, Map<String, String> fields,
+                         FieldFingerprints source) {
+        return switch (type) {
+            case ARTICLE -> writeArticle(entityId, lang, fields, source);
+            case CATEGORY -> writeCategory(entityId, lang, fields, source);
+            case AUTHOR -> writeAuthor(entityId, lang, fields, source);
+            case TAG -> writeTag(entityId, lang, fields, source);
+        };
+    }
+
+    private boolean writeArticle(Long articleId, Language lang, Map<String, String> fields, FieldFingerprints source) {
+        Article article = articleRepository.findById(articleId).orElse(null);
+        if (article == null) return false;
+
+        ArticleTranslation translation = article.getTranslations().get(lang);
+        if (translation == null) {
+            if (fields.get("title") == null) return false;
+            translation = ArticleTranslation.builder().article(article).language(lang).build();
+            article.getTranslations().put(lang, translation);
+        } else if (translation.isManualTranslation()) {
+            return true;
+        }
+
+        apply(fields, "title", translation::setTitle);
+        apply(fields, "excerpt", translation::setExcerpt);
+        apply(fields, "body", translation::setBody);
+        apply(fields, "metaTitle", translation::setMetaTitle);
+        apply(fields, "metaDescription", translation::setMetaDescription);
+        translation.setReadingTimeMinutes(article.getReadingTimeMinutes());
+        stamp(translation, fields, source);
+
+        articleTranslationRepository.save(translation);
+        return true;
+    }
+
+    private boolean writeCategory(Long categoryId, Language lang, Map<String, String> fields, FieldFingerprints source) {
+        Category category = categoryRepository.findById(categoryId).orElse(null);
+        if (category == null) return false;
+
+        CategoryTranslation translation = category.getTranslations().get(lang);
+        if (translation == null) {
+            if (fields.get("name") == null) return false;
+            translation = CategoryTranslation.builder().category(category).language(lang).build();
+            category.getTranslations().put(lang, translation);
+        } else if (translation.isManualTranslation()) {
+            return true;
+        }
+
+        apply(fields, "name", translation::setName);
+        apply(fields, "displayName", translation::setDisplayName);
+        apply(fields, "description", translation::setDescription);
+        stamp(translation, fields, source);
+
+        categoryTranslationRepository.save(translation);
+        return true;
+    }
+
+    private boolean writeAuthor(Long authorId, Language lang, Map<String, String> fields, FieldFingerprints source) {
+        Author author = authorRepository.findById(authorId).orElse(null);
+        if (author == null) return false;
+
+        AuthorTranslation translation = author.getTranslations().get(lang);
+        if (translation != null && translation.isManualTranslation()) return true;
+        if (fields.get("bio") == null) return false;
+        if (translation == null) {
+            translation = AuthorTranslation.builder().author(author).language(lang).build();
+            author.getTranslations().put(lang, translation);
+        }
+        translation.setBio(fields.get("bio"));
+        stamp(translation, fields, source);
+
+        authorTranslationRepository.save(translation);
+        return true;
+    }
+
+    private boolean writeTag(Long tagId, Language lang, Map<String, String> fields, FieldFingerprints source) {
+        Tag tag = tagRepository.findById(tagId).orElse(null);
+        if (tag == null) return false;
+
+        TagTranslation translation = tag.getTranslations().get(lang);
+        if (translation != null && translation.isManualTranslation()) return true;
+        if (fields.get("name") == null) return false;
+        if (translation == null) {
+            translation = TagTranslation.builder().tag(tag).language(lang).build();
+            tag.getTranslations().put(lang, translation);
+        }
+        translation.setName(fields.get("name"));
+        stamp(translation, fields, source);
+
+        tagTranslationRepository.save(translation);
+        return true;
+    }
+
+    /**
+     * Turns a manual translation back into an automatic one: the row keeps its text until it is
+     * re-translated, and every source field is marked outdated so the next run replaces it.
+     * Returns false if the entity has no translation in {@code lang}.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TRANSLATION_COMPLETENESS, allEntries = true)
+    public boolean releaseManual(TranslationTaskEntityType type, Long entityId, Language lang) {
+        DerivedTranslation translation = null;
+        Set<String> sourceFields = Set.of();
+        switch (type) {
+            case ARTICLE -> {
+                Article article = articleRepository.findById(entityId).orElse(null);
+                if (article != null) {
+                    translation = article.getTranslations().get(lang);
+                    sourceFields = TranslationSourceLoader.articleFields(article, Language.DEFAULT).keySet();
+                }
+            }
+            case CATEGORY -> {
+                Category category = categoryRepository.findById(entityId).orElse(null);
+                if (category != null) {
+                    translation = category.getTranslations().get(lang);
+                    sourceFields = TranslationSourceLoader.categoryFields(category, Language.DEFAULT).keySet();
+                }
+            }
+            case AUTHOR -> {
+                Author author = authorRepository.findById(entityId).orElse(null);
+                if (author != null) {
+                    translation = author.getTranslations().get(lang);
+                    sourceFields = TranslationSourceLoader.authorFields(author, Language.DEFAULT).keySet();
+                }
+            }
+            case TAG -> {
+                Tag tag = tagRepository.findById(entityId).orElse(null);
+                if (tag != null) {
+                    translation = tag.getTranslations().get(lang);
+                    sourceFields = TranslationSourceLoader.tagFields(tag, Language.DEFAULT).keySet();
+                }
+            }
+        }
+        if (translation == null) return false;
+        translation.setManual(false);
+        translation.setSourceFingerprints(translation.sourceFingerprints().outdated(sourceFields));
+        return true;
+    }
+
+    private static void stamp(DerivedTranslation translation, Map<String, String> fields, FieldFingerprints source) {
+        if (source == null) return;
+        List<String> written = fields.entrySet().stream()
+            .filter(e -> e.getValue() != null)
+            .map(Map.Entry::getKey)
+            .toList();
+        translation.setSourceFingerprints(translation.sourceFingerprints().with(written, source));
+    }
+
+    private static void apply(Map<String, String> fields, String name, Consumer<String> setter) {
+        String value = fields.get(name);
+        if (value != null) setter.accept(value);
+    }
+}
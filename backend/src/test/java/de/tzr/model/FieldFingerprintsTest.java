@@ -0,0 +1,85 @@
+package de.tzr.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldFingerprintsTest {
+
+    private final FieldFingerprintsConverter converter = new FieldFingerprintsConverter();
+
+    @Test
+    void blankFieldsHaveNoHash() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", "Titel");
+        fields.put("excerpt", " ");
+        fields.put("body", null);
+
+        FieldFingerprints fingerprints = FieldFingerprints.of(fields);
+
+        assertThat(fingerprints.fields()).containsExactly("title");
+        assertThat(fingerprints.get("title")).isEqualTo(FieldFingerprints.hash("Titel"));
+        assertThat(fingerprints.get("title").length()).isEqualTo(32);
+    }
+
+    @Test
+    void serializesSortedAndParsesBack() {
+        FieldFingerprints fingerprints = FieldFingerprints.of(Map.of("title", "Titel", "body", "<p>Text</p>"));
+
+        String column = fingerprints.serialize();
+
+        assertThat(column).startsWith("body=");
+        assertThat(column).contains(";title=");
+        assertThat(FieldFingerprints.parse(column)).isEqualTo(fingerprints);
+        assertThat(FieldFingerprints.parse("")).isSameAs(FieldFingerprints.EMPTY);
+        assertThat(FieldFingerprints.parse(null)).isSameAs(FieldFingerprints.EMPTY);
+    }
+
+    @Test
+    void converterRoundTripsAndKeepsNull() {
+        FieldFingerprints fingerprints = FieldFingerprints.of(Map.of("name", "Spiel"));
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(fingerprints)))
+            .isEqualTo(fingerprints);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn(FieldFingerprints.EMPTY)).isEqualTo("");
+    }
+
+    @Test
+    void changedFieldsCoversEditedAddedAndCleared() {
+        FieldFingerprints before = FieldFingerprints.of(Map.of("title", "Alt", "excerpt", "Kurz", "body", "Gleich"));
+        FieldFingerprints after = FieldFingerprints.of(Map.of("title", "Neu", "body", "Gleich", "metaTitle", "Meta"));
+
+        assertThat(before.changedFields(after)).containsExactlyInAnyOrder("title", "excerpt", "metaTitle");
+        assertThat(after.changedFields(before)).containsExactlyInAnyOrder("title", "excerpt", "metaTitle");
+        assertThat(before.changedFields(before)).isEmpty();
+    }
+
+    @Test
+    void withCopiesHashesAndDropsBlankSourceFields() {
+        FieldFingerprints row = FieldFingerprints.of(Map.of("title", "Alt", "excerpt", "Kurz"));
+        FieldFingerprints source = FieldFingerprints.of(Map.of("title", "Neu"));
+
+        FieldFingerprints stamped = row.with(List.of("title", "excerpt"), source);
+
+        assertThat(stamped.get("title")).isEqualTo(FieldFingerprints.hash("Neu"));
+        assertThat(stamped.has("excerpt")).isFalse();
+        assertThat(row.get("title")).isEqualTo(FieldFingerprints.hash("Alt"));
+    }
+
+    @Test
+    void outdatedFieldsDifferFromAnySourceAndSurviveSerialization() {
+        FieldFingerprints source = FieldFingerprints.of(Map.of("bio", "Text"));
+
+        FieldFingerprints outdated = source.outdated(List.of("bio"));
+
+        assertThat(outdated.has("bio")).isTrue();
+        assertThat(outdated.changedFields(source)).containsExactly("bio");
+        assertThat(FieldFingerprints.parse(outdated.serialize())).isEqualTo(outdated);
+    }
+}
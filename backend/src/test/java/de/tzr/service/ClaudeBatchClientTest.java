@@ -0,0 +1,104 @@
+package de.tzr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.tzr.config.TranslationProperties;
+import de.tzr.model.Language;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaudeBatchClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<JsonNode> submitted = new AtomicReference<>();
+
+    private HttpServer server;
+    private String baseUrl;
+    private ClaudeBatchClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        server.createContext("/v1/messages/batches", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if ("POST".equals(exchange.getRequestMethod())) {
+                submitted.set(objectMapper.readTree(exchange.getRequestBody()));
+                respond(exchange, "{\"id\":\"msgbatch_1\",\"processing_status\":\"in_progress\"}");
+            } else if (path.endsWith("/results")) {
+                respond(exchange, String.join("\n",
+                    "{\"custom_id\":\"ARTICLE-1-EN-title-0-1\",\"result\":{\"type\":\"succeeded\",\"message\":{\"content\":[{\"type\":\"text\",\"text\":\"Hello\"}],\"stop_reason\":\"end_turn\"}}}",
+                    "{\"custom_id\":\"ARTICLE-1-EN-body-0-2\",\"result\":{\"type\":\"succeeded\",\"message\":{\"content\":[{\"type\":\"text\",\"text\":\"<p>cut\"}],\"stop_reason\":\"max_tokens\"}}}",
+                    "{\"custom_id\":\"ARTICLE-1-EN-body-1-2\",\"result\":{\"type\":\"errored\",\"error\":{\"type\":\"overloaded_error\"}}}",
+                    ""));
+            } else {
+                respond(exchange, "{\"id\":\"msgbatch_1\",\"processing_status\":\"ended\",\"results_url\":\""
+                    + baseUrl + "/v1/messages/batches/msgbatch_1/results\"}");
+            }
+        });
+        server.start();
+
+        TranslationProperties props = new TranslationProperties();
+        props.getClaude().setApiKey("test-key");
+        props.getClaude().setApiUrl(baseUrl + "/v1/messages");
+        props.getClaude().setBatchUrl(baseUrl + "/v1/messages/batches");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RestTemplate restTemplate = new RestTemplate();
+        ProviderGuard guard = new ProviderGuard("claude",
+            new TranslationProperties.Limits(100, 100, Duration.ofSeconds(1)), meterRegistry);
+        ClaudeTranslationClient claudeClient = new ClaudeTranslationClient(
+            props, objectMapper, restTemplate, guard, Runnable::run, meterRegistry);
+        client = new ClaudeBatchClient(props, objectMapper, restTemplate, claudeClient);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void submitsPollsAndStreamsResults() throws Exception {
+        String batchId = client.submit(List.of(
+            new ClaudeBatchClient.BatchRequest("ARTICLE-1-EN-title-0-1", "Hallo", Language.DE, Language.EN)));
+        assertThat(batchId).isEqualTo("msgbatch_1");
+
+        JsonNode request = submitted.get().get("requests").get(0);
+        assertThat(request.get("custom_id").asText()).isEqualTo("ARTICLE-1-EN-title-0-1");
+        assertThat(request.get("params").get("messages").get(0).get("content").asText()).isEqualTo("Hallo");
+        assertThat(request.get("params").get("system").asText()).contains("from German to English");
+
+        ClaudeBatchClient.BatchStatus status = client.getStatus(batchId);
+        assertThat(status.ended()).isTrue();
+
+        List<ClaudeBatchClient.BatchResult> results = new ArrayList<>();
+        client.streamResults(status.resultsUrl(), results::add);
+        assertThat(results).extracting(ClaudeBatchClient.BatchResult::customId)
+            .containsExactly("ARTICLE-1-EN-title-0-1", "ARTICLE-1-EN-body-0-2", "ARTICLE-1-EN-body-1-2");
+        assertThat(results.get(0).text()).isEqualTo("Hello");
+        assertThat(results.get(1).succeeded()).isFalse();
+        assertThat(results.get(2).succeeded()).isFalse();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,111 @@
+package de.tzr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.tzr.config.TranslationProperties;
+import de.tzr.model.Language;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaudeTranslationClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final List<String> apiKeys = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+    private ClaudeTranslationClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/messages", exchange -> {
+            requests.add(objectMapper.readTree(exchange.getRequestBody()));
+            apiKeys.add(exchange.getRequestHeaders().getFirst("x-api-key"));
+            String usage = "{\"input_tokens\":12,\"output_tokens\":7}";
+            byte[] body = ("{\"content\":[{\"type\":\"text\",\"text\":\"Hello\"}],\"stop_reason\":\"end_turn\",\"usage\":" + usage + "}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        TranslationProperties props = new TranslationProperties();
+        props.getClaude().setApiKey("test-key");
+        props.getClaude().setApiUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/messages");
+        ProviderGuard guard = new ProviderGuard("claude",
+            new TranslationProperties.Limits(100, 100, Duration.ofSeconds(1)), meterRegistry);
+        client = new ClaudeTranslationClient(props, objectMapper, new RestTemplate(), guard, Runnable::run, meterRegistry);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsSystemPromptPerLanguagePair() {
+        assertThat(client.translate("Hallo", Language.DE, Language.EN)).isEqualTo("Hello");
+        assertThat(client.translate("Welt", Language.DE, Language.EN)).isEqualTo("Hello");
+        assertThat(client.translate("Hallo", Language.DE, Language.PT)).isEqualTo("Hello");
+
+        assertThat(requests).hasSize(3);
+        assertThat(apiKeys).containsOnly("test-key");
+
+        JsonNode system = requests.get(0).get("system");
+        assertThat(system.isTextual()).isTrue();
+        assertThat(system.asText()).contains("from German to English");
+
+        assertThat(requests.get(1).get("system")).isEqualTo(system);
+        assertThat(requests.get(2).get("system").asText()).contains("from German to Portuguese");
+        assertThat(requests.get(1).get("messages").get(0).get("content").asText()).isEqualTo("Welt");
+    }
+
+    @Test
+    void stubServerAnswersInTheRequestedTargetLanguage() throws IOException {
+        TranslationProperties props = new TranslationProperties();
+        TranslationProperties.StubProvider quiet = new TranslationProperties.StubProvider(
+            Duration.ofMillis(1), Duration.ofMillis(1), Duration.ZERO, 0.0);
+        quiet.setErrorRate(0);
+        quiet.setThrottleRate(0);
+        props.getStub().setClaude(quiet);
+        StubTranslationServer stub = new StubTranslationServer(props, objectMapper);
+        stub.start();
+        try {
+            ProviderGuard guard = new ProviderGuard("claude",
+                new TranslationProperties.Limits(100, 100, Duration.ofSeconds(1)), meterRegistry);
+            ClaudeTranslationClient stubClient =
+                new ClaudeTranslationClient(props, objectMapper, new RestTemplate(), guard, Runnable::run, meterRegistry);
+
+            assertThat(stubClient.translate("<p>Hallo</p>", Language.DE, Language.EN)).isEqualTo("[English] <p>Hallo</p>");
+            assertThat(stubClient.translate("Hallo", Language.DE, Language.PT)).isEqualTo("[Portuguese] Hallo");
+        } finally {
+            stub.stop();
+        }
+    }
+
+    @Test
+    void recordsTokenUsage() {
+        client.translate("Hallo", Language.DE, Language.EN);
+        client.translate("Welt", Language.DE, Language.EN);
+
+        assertThat(meterRegistry.counter("translation.claude.tokens", "type", "input").count()).isEqualTo(24);
+        assertThat(meterRegistry.counter("translation.claude.tokens", "type", "output").count()).isEqualTo(14);
+    }
+}
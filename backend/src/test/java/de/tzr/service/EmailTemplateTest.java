@@ -0,0 +1,76 @@
+package de.tzr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+    @Test
+    void escapesDoubleBracesAndInsertsTripleBracesAsIs() {
+        EmailTemplate template = EmailTemplate.compile("t", "<p>{{text}}</p>{{{text}}}");
+
+        assertThat(template.render(Map.of("text", "<b>\"A&B\" 'x'</b>")))
+            .isEqualTo("<p>&lt;b&gt;&quot;A&amp;B&quot; &#39;x&#39;&lt;/b&gt;</p><b>\"A&B\" 'x'</b>");
+    }
+
+    @Test
+    void missingValuesRenderAsNothing() {
+        assertThat(EmailTemplate.compile("t", "[{{a}}][{{{b}}}]").render(Map.of())).isEqualTo("[][]");
+    }
+
+    @Test
+    void sectionsResolveNamesAgainstItemThenOuterScopes() {
+        EmailTemplate template = EmailTemplate.compile("t",
+            "{{#articles}}{{title}} {{lang}} {{email}}{{#tags}}/{{name}}:{{title}}{{/tags}};{{/articles}}");
+
+        String html = template.render(
+            Map.of("email", "a@b.de", "articles", List.of(
+                Map.of("title", "Eins", "tags", List.of(Map.of("name", "x"))),
+                Map.of("title", "Zwei", "lang", "pt", "tags", List.of()))),
+            Map.of("lang", "de"));
+
+        assertThat(html).isEqualTo("Eins de a@b.de/x:Eins;Zwei pt a@b.de;");
+    }
+
+    @Test
+    void falseEmptyAndNullValuesAreNotPresent() {
+        EmailTemplate template = EmailTemplate.compile("t", "{{#v}}shown{{/v}}");
+
+        assertThat(template.render(Map.of("v", false))).isEqualTo("");
+        assertThat(template.render(Map.of("v", ""))).isEqualTo("");
+        assertThat(template.render(Map.of())).isEqualTo("");
+        assertThat(template.render(Map.of("v", List.of()))).isEqualTo("");
+        assertThat(template.render(Map.of("v", true))).isEqualTo("shown");
+        assertThat(template.render(Map.of("v", 0))).isEqualTo("shown");
+        assertThat(template.render(Map.of("v", "x"))).isEqualTo("shown");
+    }
+
+    @Test
+    void rejectsUnclosedTag() {
+        assertThatThrownBy(() -> EmailTemplate.compile("t", "Hallo {{name"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("unclosed tag at offset 6");
+    }
+
+    @Test
+    void rejectsUnclosedSection() {
+        assertThatThrownBy(() -> EmailTemplate.compile("t", "{{#a}}text"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("section {{#a}} is not closed");
+    }
+
+    @Test
+    void rejectsMismatchedSectionEnd() {
+        assertThatThrownBy(() -> EmailTemplate.compile("t", "{{#a}}{{#b}}{{/a}}{{/b}}"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("unexpected {{/a}}");
+        assertThatThrownBy(() -> EmailTemplate.compile("t", "{{/a}}"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("unexpected {{/a}}");
+    }
+}
@@ -0,0 +1,87 @@
+package de.tzr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlChunkerTest {
+
+    @Test
+    void returnsShortInputAsSingleChunk() {
+        assertThat(HtmlChunker.split("<p>Hallo</p>", 100)).containsExactly("<p>Hallo</p>");
+        assertThat(HtmlChunker.split(null, 100)).containsExactly("");
+    }
+
+    @Test
+    void packsWholeBlocksIntoChunks() {
+        String html = "<p>Eins eins eins.</p><h2>Zwei</h2><ul><li>drei</li><li>vier</li></ul><p>Fünf fünf.</p>";
+
+        List<String> chunks = HtmlChunker.split(html, 40);
+
+        assertThat(chunks).containsExactly(
+            "<p>Eins eins eins.</p><h2>Zwei</h2>",
+            "<ul><li>drei</li><li>vier</li></ul>",
+            "<p>Fünf fünf.</p>");
+        assertThat(String.join("", chunks)).isEqualTo(html);
+    }
+
+    @Test
+    void keepsNestedBlocksTogether() {
+        String html = "<blockquote><p>Zitat eins.</p><p>Zitat zwei.</p></blockquote><p>Danach.</p>";
+
+        List<String> chunks = HtmlChunker.split(html, 70);
+
+        assertThat(chunks).containsExactly(
+            "<blockquote><p>Zitat eins.</p><p>Zitat zwei.</p></blockquote>", "<p>Danach.</p>");
+    }
+
+    @Test
+    void cutsOversizedBlockAtSentenceEnds() {
+        String html = "<p>Der erste Satz ist hier. Der zweite Satz folgt. Und ein dritter Satz.</p><p>Kurz.</p>";
+
+        List<String> chunks = HtmlChunker.split(html, 32);
+
+        assertThat(String.join("", chunks)).isEqualTo(html);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(((String) chunk).length()).isLessThanOrEqualTo(32));
+        assertThat(chunks.get(0)).isEqualTo("<p>Der erste Satz ist hier. ");
+        assertThat(chunks.get(1)).isEqualTo("Der zweite Satz folgt. ");
+    }
+
+    @Test
+    void cutsAtWhitespaceWhenNoSentenceEndFits() {
+        String text = "eins zwei drei vier fünf sechs sieben acht neun zehn";
+
+        List<String> chunks = HtmlChunker.split(text, 15);
+
+        assertThat(String.join("", chunks)).isEqualTo(text);
+        assertThat(chunks).allSatisfy(chunk -> {
+            assertThat(((String) chunk).length()).isLessThanOrEqualTo(15);
+            assertThat(((String) chunk).startsWith(" ")).isFalse();
+        });
+    }
+
+    @Test
+    void neverCutsInsideATag() {
+        String html = "<p>Text mit <a href=\"https://example.org/ein langer pfad\">Link</a> am Ende des Satzes</p>";
+
+        List<String> chunks = HtmlChunker.split(html, 50);
+
+        assertThat(String.join("", chunks)).isEqualTo(html);
+        for (String chunk : chunks) {
+            assertThat(chunk.lastIndexOf('<') <= chunk.lastIndexOf('>')).isTrue();
+        }
+    }
+
+    @Test
+    void hardCutsUnbrokenTextWithoutSplittingEntities() {
+        String text = "a".repeat(18) + "&amp;" + "b".repeat(20);
+
+        List<String> chunks = HtmlChunker.split(text, 20);
+
+        assertThat(String.join("", chunks)).isEqualTo(text);
+        assertThat(chunks.get(0)).isEqualTo("a".repeat(18));
+        assertThat(chunks.get(1)).startsWith("&amp;");
+    }
+}
@@ -0,0 +1,282 @@
+package de.tzr.service;
+
+import de.tzr.model.*;
+import de.tzr.repository.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.mail.host=127.0.0.1",
+    "spring.mail.username=",
+    "spring.mail.password=",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.ssl.enable=false",
+    "newsletter.campaign.page-size=25",
+    "newsletter.campaign.batch-size=10",
+    "newsletter.campaign.rate-per-second=1000"
+})
+@ActiveProfiles("dev")
+class NewsletterCampaignServiceTest {
+
+    private static final FakeSmtpServer smtp = FakeSmtpServer.start();
+
+    @DynamicPropertySource
+    static void mailPort(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::port);
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @Autowired
+    private NewsletterCampaignService campaignService;
+    @Autowired
+    private NewsletterCampaignRepository campaignRepository;
+    @Autowired
+    private NewsletterDeliveryRepository deliveryRepository;
+    @Autowired
+    private NewsletterSubscriberRepository subscriberRepository;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    void reset() {
+        deliveryRepository.deleteAll();
+        campaignRepository.deleteAll();
+        subscriberRepository.deleteAll();
+        smtp.reset();
+        publishArticle();
+    }
+
+    @Test
+    void sendsDigestInBatchesAndRecordsEveryRecipient() throws InterruptedException {
+        subscribe(29, "reader");
+        subscriberRepository.save(confirmed("bounce@example.org", Language.DE));
+        subscriberRepository.save(NewsletterSubscriber.builder().email("pending@example.org").build());
+
+        Long id = campaignService.start().id();
+        NewsletterCampaign campaign = awaitCompleted(id);
+
+        assertThat(campaign.getSentCount()).isEqualTo(29);
+        assertThat(campaign.getFailedCount()).isEqualTo(1);
+        assertThat(smtp.messages()).hasSize(29);
+        // 30 recipients in pages of 25 and batches of 10: 10, 10, 5 | 5
+        assertThat(smtp.connections()).isEqualTo(4);
+        assertThat(smtp.messages()).noneMatch(m -> m.contains("pending@example.org"));
+        assertThat(smtp.messages()).anyMatch(m -> m.contains("Subject: TZR Learning Impulses: new articles"));
+        assertThat(smtp.messages()).anyMatch(m -> m.contains("Subject: TZR Bildungsimpulse: neue Artikel"));
+
+        List<NewsletterDelivery> deliveries = deliveryRepository.findByCampaignIdOrderBySubscriberId(id);
+        assertThat(deliveries).hasSize(30);
+        assertThat(deliveries).filteredOn(d -> d.getStatus() == NewsletterDeliveryStatus.FAILED)
+            .extracting(NewsletterDelivery::getEmail).containsExactly("bounce@example.org");
+    }
+
+    @Test
+    void resumesAfterMailServerOutage() throws InterruptedException {
+        subscribe(12, "reader");
+        smtp.setAvailable(false);
+
+        Long id = campaignService.start().id();
+        awaitAttempt();
+        NewsletterCampaign paused = campaignRepository.findById(id).orElseThrow();
+        assertThat(paused.getStatus()).isEqualTo(NewsletterCampaignStatus.SENDING);
+        assertThat(paused.getLastSubscriberId()).isZero();
+        assertThat(deliveryRepository.findByCampaignIdOrderBySubscriberId(id)).isEmpty();
+
+        smtp.setAvailable(true);
+        NewsletterCampaign campaign = paused;
+        for (int i = 0; i < 50 && campaign.getStatus() != NewsletterCampaignStatus.COMPLETED; i++) {
+            campaignService.resumeInterrupted();
+            campaign = campaignRepository.findById(id).orElseThrow();
+            if (campaign.getStatus() != NewsletterCampaignStatus.COMPLETED) Thread.sleep(100);
+        }
+
+        assertThat(campaign.getStatus()).isEqualTo(NewsletterCampaignStatus.COMPLETED);
+        assertThat(campaign.getSentCount()).isEqualTo(12);
+        assertThat(smtp.messages()).hasSize(12);
+        assertThat(deliveryRepository.countByCampaignIdAndStatus(id, NewsletterDeliveryStatus.SENT)).isEqualTo(12);
+    }
+
+    private void subscribe(int count, String prefix) {
+        List<NewsletterSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            subscribers.add(confirmed(prefix + i + "@example.org", i % 3 == 0 ? Language.EN : Language.DE));
+        }
+        subscriberRepository.saveAll(subscribers);
+    }
+
+    private static NewsletterSubscriber confirmed(String email, Language language) {
+        return NewsletterSubscriber.builder().email(email).confirmed(true).language(language).build();
+    }
+
+    private void publishArticle() {
+        long run = System.nanoTime();
+        Category category = categoryRepository.save(Category.builder()
+            .name("campaign-" + run).slug("campaign-" + run).displayName("Campaign")
+            .type(CategoryType.BILDUNGSBEREICH).build());
+        Author author = authorRepository.save(Author.builder()
+            .name("Campaign").slug("campaign-" + run).bio("Autor für Tests.").build());
+        articleRepository.save(Article.builder()
+            .title("Neuer Artikel " + run)
+            .slug("campaign-" + run)
+            .excerpt("Kurzfassung.")
+            .body("<p>Text.</p>")
+            .category(category)
+            .author(author)
+            .status(ArticleStatus.PUBLISHED)
+            .publishedDate(LocalDate.now().minusDays(1))
+            .build());
+    }
+
+    private NewsletterCampaign awaitCompleted(Long id) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            NewsletterCampaign campaign = campaignRepository.findById(id).orElseThrow();
+            if (campaign.getStatus() == NewsletterCampaignStatus.COMPLETED) return campaign;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Campaign " + id + " did not complete");
+    }
+
+    private void awaitAttempt() throws InterruptedException {
+        for (int i = 0; i < 300 && smtp.connections() == 0; i++) Thread.sleep(100);
+        Thread.sleep(200);
+    }
+
+    /** Minimal SMTP server: accepts every recipient except bounce@…, records each message as raw text. */
+    static final class FakeSmtpServer implements Closeable {
+
+        private final ServerSocket socket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private volatile boolean available = true;
+
+        private FakeSmtpServer(ServerSocket socket) {
+            this.socket = socket;
+        }
+
+        static FakeSmtpServer start() {
+            try {
+                FakeSmtpServer server = new FakeSmtpServer(new ServerSocket(0));
+                Thread.ofVirtual().start(server::acceptLoop);
+                return server;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        List<String> messages() {
+            return messages;
+        }
+
+        void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        void reset() {
+            connections.set(0);
+            messages.clear();
+            available = true;
+        }
+
+        private void acceptLoop() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections.incrementAndGet();
+                    Thread.ofVirtual().start(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                 Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8)) {
+                if (!available) {
+                    reply(out, "421 Service not available");
+                    return;
+                }
+                reply(out, "220 fake ESMTP");
+                StringBuilder envelope = new StringBuilder();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO")) {
+                        reply(out, "250-fake\r\n250 8BITMIME");
+                    } else if (command.startsWith("RCPT") && command.contains("BOUNCE@")) {
+                        reply(out, "550 5.1.1 Mailbox unavailable");
+                    } else if (command.startsWith("RCPT") || command.startsWith("MAIL")) {
+                        envelope.append(line).append('\n');
+                        reply(out, "250 OK");
+                    } else if (command.equals("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder(envelope);
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                        }
+                        messages.add(data.toString());
+                        envelope.setLength(0);
+                        reply(out, "250 Queued");
+                    } else if (command.equals("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else if (command.startsWith("RSET")) {
+                        envelope.setLength(0);
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("HELO") || command.startsWith("NOOP")) {
+                        reply(out, "250 OK");
+                    } else {
+                        reply(out, "502 Command not implemented");
+                    }
+                }
+            } catch (IOException ignored) {
+                // client went away
+            }
+        }
+
+        private static void reply(Writer out, String response) throws IOException {
+            out.write(response + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
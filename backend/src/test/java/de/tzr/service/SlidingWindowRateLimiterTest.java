@@ -0,0 +1,87 @@
+package de.tzr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+    private long now;
+    private final SlidingWindowRateLimiter limiter =
+        new SlidingWindowRateLimiter(4, Duration.ofSeconds(10), 1000, () -> now);
+
+    @Test
+    void allowsUpToLimitWithinOneWindow() {
+        for (int i = 0; i < 4; i++) assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        assertThat(limiter.tryAcquire("b").allowed()).isTrue();
+    }
+
+    @Test
+    void weighsPreviousWindowByRemainingOverlap() {
+        fill("a");
+
+        at(10_000);
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+
+        at(15_000);
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+
+        at(20_000);
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+    }
+
+    @Test
+    void retryAfterWaitsForPreviousWindowToFade() {
+        fill("a");
+        at(15_000);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        SlidingWindowRateLimiter.Decision denied = limiter.tryAcquire("a");
+
+        assertThat(denied.retryAfterSeconds()).isEqualTo(3L);
+        at(17_500);
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+    }
+
+    @Test
+    void retryAfterWaitsForFullCurrentWindowToRollAndFade() {
+        fill("a");
+
+        SlidingWindowRateLimiter.Decision denied = limiter.tryAcquire("a");
+
+        assertThat(denied.retryAfterSeconds()).isEqualTo(13L);
+        at(12_400);
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        at(12_500);
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+    }
+
+    @Test
+    void evictsKeysIdleForTwoWindows() {
+        limiter.tryAcquire("a");
+        at(15_000);
+        limiter.tryAcquire("b");
+
+        at(19_999);
+        assertThat(limiter.evictIdle()).isEqualTo(0);
+        at(20_000);
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private void fill(String key) {
+        for (int i = 0; i < 4; i++) limiter.tryAcquire(key);
+    }
+
+    private void at(long millis) {
+        now = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,51 @@
+package de.tzr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriberCsvServiceTest {
+
+    @Test
+    void parsesCommaAndSemicolonSeparatedLines() {
+        assertThat(SubscriberCsvService.parseLine("a@example.com,EN,true,2024-01-02"))
+            .containsExactly("a@example.com", "EN", "true", "2024-01-02");
+        assertThat(SubscriberCsvService.parseLine("a@example.com;PT;;"))
+            .containsExactly("a@example.com", "PT", "", "");
+    }
+
+    @Test
+    void parsesQuotedFieldsWithEscapedQuotes() {
+        assertThat(SubscriberCsvService.parseLine("\"x,y\",\"say \"\"hi\"\"\",DE"))
+            .containsExactly("x,y", "say \"hi\"", "DE");
+    }
+
+    @Test
+    void escapesOnlyValuesThatNeedQuoting() {
+        assertThat(SubscriberCsvService.escape("a@example.com")).isEqualTo("a@example.com");
+        assertThat(SubscriberCsvService.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(SubscriberCsvService.escape("a\"b")).isEqualTo("\"a\"\"b\"");
+    }
+
+    @Test
+    void neutralizesFormulasAndRestoresThemOnImport() {
+        assertThat(SubscriberCsvService.neutralizeFormula("=cmd@example.com")).isEqualTo("'=cmd@example.com");
+        assertThat(SubscriberCsvService.neutralizeFormula("a@example.com")).isEqualTo("a@example.com");
+        assertThat(SubscriberCsvService.restoreFormula("'=cmd@example.com")).isEqualTo("=cmd@example.com");
+        assertThat(SubscriberCsvService.restoreFormula("'a@example.com")).isEqualTo("'a@example.com");
+    }
+
+    @Test
+    void exportedValuesSurviveReimport() {
+        for (String value : List.of("a@example.com", "=1+1@example.com", "+x@example.com", "-y@example.com",
+                "@z@example.com", "o'brien@example.com", "a,b;c\"d")) {
+            String cell = SubscriberCsvService.escape(SubscriberCsvService.neutralizeFormula(value));
+            List<String> fields = SubscriberCsvService.parseLine(cell + ",EN");
+
+            assertThat(fields).hasSize(2);
+            assertThat(SubscriberCsvService.restoreFormula(fields.get(0))).isEqualTo(value);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package de.tzr.service;
+
+import de.tzr.model.DerivedTranslation;
+import de.tzr.model.FieldFingerprints;
+import de.tzr.model.Language;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationChangesTest {
+
+    private static final FieldFingerprints BEFORE = FieldFingerprints.of(Map.of("title", "Alt", "body", "Text"));
+    private static final FieldFingerprints AFTER = FieldFingerprints.of(Map.of("title", "Neu", "body", "Text"));
+
+    @Test
+    void unchangedSourceAffectsNothing() {
+        assertThat(TranslationChanges.affectedLanguages(BEFORE, BEFORE, Map.of())).isEmpty();
+    }
+
+    @Test
+    void missingTranslationsAreAffected() {
+        assertThat(TranslationChanges.affectedLanguages(BEFORE, AFTER, Map.of()))
+            .containsExactlyInAnyOrder(Language.EN, Language.PT);
+    }
+
+    @Test
+    void rowAlreadyDerivedFromNewTextIsNotAffected() {
+        Map<Language, Row> rows = new EnumMap<>(Language.class);
+        rows.put(Language.EN, new Row(AFTER, false));
+        rows.put(Language.PT, new Row(BEFORE, false));
+
+        assertThat(TranslationChanges.affectedLanguages(BEFORE, AFTER, rows)).containsExactly(Language.PT);
+    }
+
+    @Test
+    void unrecordedFieldCountsAsDerivedFromBeforeWithoutStamping() {
+        Map<Language, Row> rows = new EnumMap<>(Language.class);
+        rows.put(Language.EN, new Row(null, false));
+        rows.put(Language.PT, new Row(null, false));
+
+        assertThat(TranslationChanges.affectedLanguages(BEFORE, AFTER, rows))
+            .containsExactlyInAnyOrder(Language.EN, Language.PT);
+        assertThat(rows.get(Language.EN).fingerprints).isNull();
+    }
+
+    @Test
+    void manualRowsAreNeverAffected() {
+        Map<Language, Row> rows = new EnumMap<>(Language.class);
+        rows.put(Language.EN, new Row(BEFORE, true));
+        rows.put(Language.PT, new Row(AFTER, false));
+
+        assertThat(TranslationChanges.affectedLanguages(BEFORE, AFTER, rows)).isEmpty();
+    }
+
+    @Test
+    void stampsChangedFieldsThatLackAHash() {
+        Row unrecorded = new Row(null, false);
+        Row recorded = new Row(FieldFingerprints.of(Map.of("title", "Älter")), false);
+        Map<Language, Row> rows = new EnumMap<>(Language.class);
+        rows.put(Language.EN, unrecorded);
+        rows.put(Language.PT, recorded);
+
+        TranslationChanges.stampUnrecorded(BEFORE, AFTER, rows);
+
+        assertThat(unrecorded.fingerprints.fields()).containsExactly("title");
+        assertThat(unrecorded.fingerprints.get("title")).isEqualTo(BEFORE.get("title"));
+        assertThat(recorded.fingerprints.get("title")).isEqualTo(FieldFingerprints.hash("Älter"));
+    }
+
+    @Test
+    void stampingSkipsManualRows() {
+        Row manual = new Row(null, true);
+
+        TranslationChanges.stampUnrecorded(BEFORE, AFTER, Map.of(Language.EN, manual));
+
+        assertThat(manual.fingerprints).isNull();
+    }
+
+    @Test
+    void blankAndNullAreNotAnEdit() {
+        assertThat(TranslationChanges.edited(null, "")).isFalse();
+        assertThat(TranslationChanges.edited(" ", null)).isFalse();
+        assertThat(TranslationChanges.edited("Titel", "Titel")).isFalse();
+        assertThat(TranslationChanges.edited(null, "Titel")).isTrue();
+        assertThat(TranslationChanges.edited("Titel", "")).isTrue();
+    }
+
+    static class Row implements DerivedTranslation {
+        FieldFingerprints fingerprints;
+        Boolean manual;
+
+        Row(FieldFingerprints fingerprints, boolean manual) {
+            this.fingerprints = fingerprints;
+            this.manual = manual;
+        }
+
+        @Override
+        public FieldFingerprints getSourceFingerprints() {
+            return fingerprints;
+        }
+
+        @Override
+        public void setSourceFingerprints(FieldFingerprints sourceFingerprints) {
+            this.fingerprints = sourceFingerprints;
+        }
+
+        @Override
+        public Boolean getManual() {
+            return manual;
+        }
+
+        @Override
+        public void setManual(Boolean manual) {
+            this.manual = manual;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package de.tzr.service;
+
+import de.tzr.model.*;
+import de.tzr.repository.ArticleRepository;
+import de.tzr.repository.AuthorRepository;
+import de.tzr.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives N articles through the auto-translation pipeline against the stub providers and
+ * reports throughput, end-to-end latency percentiles and SQL statements per article.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark -Dbenchmark.articles=200}.
+ */
+@SpringBootTest(properties = {
+    "translation.mode=stub",
+    "translation.deepl.limits.requests-per-second=1000",
+    "translation.deepl.limits.burst=1000",
+    "translation.claude.limits.requests-per-second=1000",
+    "translation.claude.limits.burst=1000",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("dev")
+@Tag("benchmark")
+class TranslationPipelineBenchmarkTest {
+
+    @Autowired
+    private AutoTranslationService autoTranslationService;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void translateArticles() {
+        int count = Integer.getInteger("benchmark.articles", 50);
+        int paragraphs = Integer.getInteger("benchmark.paragraphs", 20);
+        List<Long> ids = createArticles(count, paragraphs);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> runs = new ArrayList<>();
+        for (Long id : ids) {
+            long submitted = System.nanoTime();
+            runs.add(autoTranslationService.translate(TranslationTaskEntityType.ARTICLE, id, Language.DEFAULT)
+                .thenApply(done -> System.nanoTime() - submitted));
+        }
+        long[] latencies = runs.stream().mapToLong(CompletableFuture::join).sorted().toArray();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%n--- translation pipeline benchmark ---%n");
+        System.out.printf("articles:               %d (%d paragraphs each)%n", count, paragraphs);
+        System.out.printf("wall time:              %.2f s%n", seconds);
+        System.out.printf("throughput:             %.2f articles/s%n", count / seconds);
+        System.out.printf("latency p50:            %d ms%n", percentile(latencies, 0.50) / 1_000_000);
+        System.out.printf("latency p99:            %d ms%n", percentile(latencies, 0.99) / 1_000_000);
+        System.out.printf("statements per article: %.1f%n", (double) statistics.getPrepareStatementCount() / count);
+        System.out.printf("transactions:           %d%n", statistics.getTransactionCount());
+
+        assertThat(latencies).hasSize(count);
+    }
+
+    private List<Long> createArticles(int count, int paragraphs) {
+        long run = System.nanoTime();
+        Category category = categoryRepository.save(Category.builder()
+            .name("benchmark-" + run).slug("benchmark-" + run).displayName("Benchmark")
+            .type(CategoryType.BILDUNGSBEREICH).build());
+        Author author = authorRepository.save(Author.builder()
+            .name("Benchmark").slug("benchmark-" + run).bio("Autor für Messungen.").build());
+
+        StringBuilder body = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            body.append("<p>Absatz ").append(p)
+                .append(": Kinder lernen im Spiel, wenn Erwachsene aufmerksam begleiten und Raum für eigene Fragen lassen.</p>\n");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Article article = articleRepository.save(Article.builder()
+                .title("Benchmark-Artikel " + i)
+                .slug("benchmark-" + run + "-" + i)
+                .excerpt("Kurzfassung des Benchmark-Artikels " + i + ".")
+                .body(body.toString())
+                .category(category)
+                .author(author)
+                .metaTitle("Benchmark " + i)
+                .metaDescription("Beschreibung " + i)
+                .build());
+            ids.add(article.getId());
+        }
+        return ids;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
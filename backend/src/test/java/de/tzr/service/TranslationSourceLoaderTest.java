@@ -0,0 +1,79 @@
+package de.tzr.service;
+
+import de.tzr.model.FieldFingerprints;
+import de.tzr.model.Language;
+import de.tzr.service.TranslationChangesTest.Row;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationSourceLoaderTest {
+
+    private static final Map<String, String> SOURCE = fields("Titel", "Text");
+    private static final FieldFingerprints CURRENT = FieldFingerprints.of(SOURCE);
+
+    @Test
+    void missingRowIsStaleInEveryNonBlankField() {
+        Map<String, String> source = fields("Titel", " ");
+
+        TranslationSourceLoader.Snapshot snapshot =
+            TranslationSourceLoader.snapshot(source, Map.of(), lang -> Map.of(), Language.DE);
+
+        assertThat(snapshot.staleFields().get(Language.EN)).containsExactly("title");
+        assertThat(snapshot.staleFields()).doesNotContainKey(Language.DE);
+    }
+
+    @Test
+    void outdatedAndBlankFieldsAreStale() {
+        Map<Language, Row> rows = new EnumMap<>(Language.class);
+        rows.put(Language.EN, new Row(CURRENT.with(List.of("title"),
+            FieldFingerprints.of(Map.of("title", "Alter Titel"))), false));
+        rows.put(Language.PT, new Row(CURRENT, false));
+        Map<Language, Map<String, String>> translated = Map.of(
+            Language.EN, fields("Title", "Text"),
+            Language.PT, fields("Título", ""));
+
+        TranslationSourceLoader.Snapshot snapshot =
+            TranslationSourceLoader.snapshot(SOURCE, rows, translated::get, Language.DE);
+
+        assertThat(snapshot.staleFields().get(Language.EN)).containsExactly("title");
+        assertThat(snapshot.staleFields().get(Language.PT)).containsExactly("body");
+    }
+
+    @Test
+    void unrecordedHashCountsAsCurrent() {
+        Map<Language, Row> rows = Map.of(Language.EN, new Row(null, false), Language.PT, new Row(null, false));
+
+        TranslationSourceLoader.Snapshot snapshot =
+            TranslationSourceLoader.snapshot(SOURCE, rows, lang -> fields("Title", "Text"), Language.DE);
+
+        assertThat(snapshot.staleFields().get(Language.EN)).isEmpty();
+    }
+
+    @Test
+    void manualRowIsNeverStaleUntilReleased() {
+        Row row = new Row(FieldFingerprints.EMPTY, true);
+        Map<Language, Row> rows = Map.of(Language.EN, row, Language.PT, new Row(CURRENT, false));
+
+        assertThat(TranslationSourceLoader.snapshot(SOURCE, rows, lang -> fields("", ""), Language.DE)
+            .staleFields().get(Language.EN)).isEmpty();
+
+        row.setManual(false);
+        row.setSourceFingerprints(row.sourceFingerprints().outdated(SOURCE.keySet()));
+
+        assertThat(TranslationSourceLoader.snapshot(SOURCE, rows, lang -> fields("Title", "Text"), Language.DE)
+            .staleFields().get(Language.EN)).containsExactly("body", "title");
+    }
+
+    private static Map<String, String> fields(String title, String body) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", title);
+        fields.put("body", body);
+        return fields;
+    }
+}
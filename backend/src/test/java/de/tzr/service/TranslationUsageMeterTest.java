@@ -0,0 +1,131 @@
+package de.tzr.service;
+
+import de.tzr.config.TranslationProperties;
+import de.tzr.dto.TranslationUsageDTO;
+import de.tzr.model.Language;
+import de.tzr.model.TranslationUsage;
+import de.tzr.repository.TranslationUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TranslationUsageMeterTest {
+
+    private final List<TranslationUsage> rows = new ArrayList<>();
+    private int failingSaves;
+
+    private final TranslationUsageMeter meter = new TranslationUsageMeter(
+        fakeRepository(), new TranslationProperties(), new SimpleMeterRegistry(),
+        new TransactionTemplate(new NoOpTransactionManager()));
+
+    @Test
+    void callsInTheSameBucketAreSummedIntoOneRow() {
+        meter.record("deepl", "ARTICLE", Language.EN, 100, "x".repeat(90), 40, false, null);
+        meter.record("deepl", "ARTICLE", Language.EN, 50, null, 20, true, null);
+        meter.record("deepl", "ARTICLE", Language.PT, 10, "y".repeat(8), 5, false, null);
+
+        meter.flush();
+
+        assertThat(rows).hasSize(2);
+        TranslationUsage en = row(Language.EN);
+        assertThat(en.getRequests()).isEqualTo(2);
+        assertThat(en.getFailures()).isEqualTo(1);
+        assertThat(en.getFallbacks()).isEqualTo(1);
+        assertThat(en.getCharsSent()).isEqualTo(150);
+        assertThat(en.getCharsReceived()).isEqualTo(90);
+        assertThat(en.getLatencyMillis()).isEqualTo(60);
+    }
+
+    @Test
+    void failedFlushKeepsTheTotalsForTheNextFlush() {
+        meter.record("claude", "TAG", Language.EN, 30, "abc", 10, false, null);
+        failingSaves = 1;
+
+        assertThatThrownBy(meter::flush).isInstanceOf(IllegalStateException.class);
+        assertThat(rows).isEmpty();
+
+        meter.record("claude", "TAG", Language.EN, 20, "de", 5, false, null);
+        meter.flush();
+
+        assertThat(rows).hasSize(1);
+        TranslationUsage en = row(Language.EN);
+        assertThat(en.getRequests()).isEqualTo(2);
+        assertThat(en.getCharsSent()).isEqualTo(50);
+        assertThat(en.getCharsReceived()).isEqualTo(5);
+        assertThat(en.getLatencyMillis()).isEqualTo(15);
+
+        meter.flush();
+        assertThat(row(Language.EN).getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void batchResultsArePricedOnTokensAtTheBatchDiscount() {
+        meter.recordBatch(ClaudeBatchClient.PROVIDER, "ARTICLE", Language.PT, "Olá", 600_000, 100_000);
+        meter.recordBatch(ClaudeBatchClient.PROVIDER, "ARTICLE", Language.PT, null, 400_000, 100_000);
+        meter.flush();
+
+        List<TranslationUsageDTO> usage = meter.getUsage(1, true);
+
+        assertThat(usage).hasSize(1);
+        TranslationUsageDTO pt = usage.get(0);
+        assertThat(pt.provider()).isEqualTo("claude-batch");
+        assertThat(pt.requests()).isEqualTo(2);
+        assertThat(pt.failures()).isEqualTo(1);
+        assertThat(pt.inputTokens()).isEqualTo(1_000_000);
+        assertThat(pt.outputTokens()).isEqualTo(200_000);
+        // (1M input × 1.0 + 0.2M output × 5.0) at half price
+        assertThat(pt.estimatedCost()).isCloseTo(1.0, within(1e-9));
+    }
+
+    private TranslationUsage row(Language language) {
+        return rows.stream().filter(r -> r.getLanguage() == language).findFirst().orElseThrow();
+    }
+
+    private TranslationUsageRepository fakeRepository() {
+        return (TranslationUsageRepository) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{TranslationUsageRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByBucketStartAndProviderAndEntityTypeAndLanguage" -> rows.stream()
+                    .filter(r -> r.getBucketStart().equals(args[0]) && r.getProvider().equals(args[1])
+                        && r.getEntityType().equals(args[2]) && r.getLanguage() == args[3])
+                    .findFirst();
+                case "findByBucketStartGreaterThanEqualOrderByBucketStart" -> List.copyOf(rows);
+                case "save" -> {
+                    if (failingSaves > 0) {
+                        failingSaves--;
+                        throw new IllegalStateException("database unavailable");
+                    }
+                    if (!rows.contains(args[0])) rows.add((TranslationUsage) args[0]);
+                    yield args[0];
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
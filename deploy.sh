@@ -73,4 +73,4 @@ ssh "$SERVER" "cd $PROJECT_DIR && docker compose -f $COMPOSE_FILE ps"
 echo ""
 echo "=== Deployment complete (version: $VERSION) ==="
 echo "App: $APP_URL (via nginx reverse proxy)"
-echo "Direct: http://217.154.2.230:$DIRECT_PORT"
+echo "Direct (host only): http://127.0.0.1:$DIRECT_PORT"
@@ -164,6 +164,6 @@ export class DashboardComponent implements OnInit {
     this.http.get<{ content: ArticleSummary[] }>(`${this.api}/admin/articles`, { params: { status: 'PUBLISHED', size: '5', sort: 'publishedDate,desc' } })
       .subscribe(res => this.recentPublished.set(res.content || []));
     this.translationTaskService.getStats().subscribe(s => this.pendingTranslations.set(s.pending || 0));
-    this.translationTaskService.getPendingTasks().subscribe(tasks => this.pendingTasks.set(tasks.slice(0, 5)));
+    this.translationTaskService.getPendingTasks(5).subscribe(page => this.pendingTasks.set(page.content));
   }
 }
@@ -15,3 +15,12 @@ export interface TranslationStats {
   inProgress: number;
   done: number;
 }
+
+export interface TranslationTaskQuery {
+  page?: number;
+  size?: number;
+  status?: string;
+  entityType?: string;
+  targetLang?: string;
+  sort?: string;
+}
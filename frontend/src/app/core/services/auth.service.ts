@@ -36,6 +36,11 @@ export class AuthService {
   }
 
   logout(): void {
+    const token = this.getToken();
+    const refreshToken = this.getRefreshToken();
+    if (token || refreshToken) {
+      this.http.post(`${this.api}/auth/logout`, { token, refreshToken }).subscribe({ error: () => {} });
+    }
     localStorage.removeItem('tzr_token');
     localStorage.removeItem('tzr_refresh');
     localStorage.removeItem('tzr_user');
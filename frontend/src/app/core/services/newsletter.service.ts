@@ -8,7 +8,7 @@ export class NewsletterService {
   private http = inject(HttpClient);
   private api = environment.apiUrl;
 
-  subscribe(email: string): Observable<any> {
-    return this.http.post(`${this.api}/public/newsletter`, { email });
+  subscribe(email: string, language?: string): Observable<any> {
+    return this.http.post(`${this.api}/public/newsletter`, { email, language });
   }
 }
@@ -1,7 +1,8 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { TranslationTask, TranslationStats } from '../models/translation-task.model';
+import { TranslationTask, TranslationStats, TranslationTaskQuery } from '../models/translation-task.model';
+import { PageResponse } from '../models/page.model';
 import { environment } from '../../../environments/environment';
 
 @Injectable({ providedIn: 'root' })
@@ -13,12 +14,19 @@ export class TranslationTaskService {
     return this.http.get<TranslationStats>(`${this.api}/admin/translations/tasks/stats`);
   }
 
-  getPendingTasks(): Observable<TranslationTask[]> {
-    return this.http.get<TranslationTask[]>(`${this.api}/admin/translations/tasks`, { params: { status: 'PENDING' } });
+  getTasks(query: TranslationTaskQuery = {}): Observable<PageResponse<TranslationTask>> {
+    let params = new HttpParams();
+    if (query.page !== undefined) params = params.set('page', query.page);
+    if (query.size !== undefined) params = params.set('size', query.size);
+    if (query.status) params = params.set('status', query.status);
+    if (query.entityType) params = params.set('entityType', query.entityType);
+    if (query.targetLang) params = params.set('targetLang', query.targetLang);
+    if (query.sort) params = params.set('sort', query.sort);
+    return this.http.get<PageResponse<TranslationTask>>(`${this.api}/admin/translations/tasks`, { params });
   }
 
-  getAllTasks(): Observable<TranslationTask[]> {
-    return this.http.get<TranslationTask[]>(`${this.api}/admin/translations/tasks`);
+  getPendingTasks(size = 5): Observable<PageResponse<TranslationTask>> {
+    return this.getTasks({ status: 'PENDING', size });
   }
 
   updateStatus(taskId: number, status: string): Observable<TranslationTask> {
@@ -218,6 +218,14 @@ export class HomeComponent implements OnInit {
       this.subscribeMsg.set(this.translate.instant('home.newsletter.errorExpired'));
       this.subscribeMsgError.set(true);
     }
+    const unsubscribed = this.route.snapshot.queryParamMap.get('unsubscribed');
+    if (unsubscribed === 'true') {
+      this.subscribeMsg.set(this.translate.instant('home.newsletter.successUnsubscribed'));
+      this.subscribeMsgError.set(false);
+    } else if (unsubscribed === 'error') {
+      this.subscribeMsg.set(this.translate.instant('home.newsletter.errorUnsubscribe'));
+      this.subscribeMsgError.set(true);
+    }
   }
 
   loadFeatured() {
@@ -269,7 +277,7 @@ export class HomeComponent implements OnInit {
 
   onSubscribe() {
     if (!this.newsletterEmail) return;
-    this.newsletterService.subscribe(this.newsletterEmail).pipe(takeUntilDestroyed(this.destroyRef)).subscribe({
+    this.newsletterService.subscribe(this.newsletterEmail, this.langService.currentLang()).pipe(takeUntilDestroyed(this.destroyRef)).subscribe({
       next: (res: any) => {
         this.subscribeMsg.set(res.message || this.translate.instant('home.newsletter.successPending'));
         this.subscribeMsgError.set(false);